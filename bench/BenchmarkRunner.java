@@ -0,0 +1,125 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 简单的微基准测试框架：预热后按固定时长运行多轮，报告吞吐量、平均耗时、每次操作分配的字节数以及GC次数和耗时。
+ *
+ * 项目中的类都在默认包中，JMH 不支持默认包中的基准测试，因此这里用 ThreadMXBean 和 GarbageCollectorMXBean
+ * 实现了与 JMH 的 thrpt、avgt 和 -prof gc 等价的指标。
+ */
+public class BenchmarkRunner {
+    /**
+     * 一个基准测试，每次调用 run 执行 batch 次操作，返回值用于防止JIT消除无用代码
+     */
+    public interface Benchmark {
+        long run(int batch);
+    }
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Integer> batches = new ArrayList<>();
+    private final List<Benchmark> benchmarks = new ArrayList<>();
+    private final long warmupMillis;
+    private final long measureMillis;
+    private final int iterations;
+    private volatile long sink;
+
+    public BenchmarkRunner(long warmupMillis, long measureMillis, int iterations) {
+        this.warmupMillis = warmupMillis;
+        this.measureMillis = measureMillis;
+        this.iterations = iterations;
+    }
+
+    /**
+     * @param name      基准测试名称
+     * @param batch     每次调用 run 执行的操作数，慢操作应使用较小的值
+     * @param benchmark 基准测试
+     */
+    public void add(String name, int batch, Benchmark benchmark) {
+        names.add(name);
+        batches.add(batch);
+        benchmarks.add(benchmark);
+    }
+
+    /**
+     * 运行名称匹配过滤条件的所有基准测试并打印结果
+     *
+     * @param filter 名称的正则表达式，为null时运行全部
+     */
+    public void runAll(String filter) {
+        Pattern pattern = filter == null ? null : Pattern.compile(filter);
+        System.out.printf("%-36s %14s %12s %12s %8s %8s%n",
+                "Benchmark", "ops/s", "ns/op", "B/op", "gc.count", "gc.ms");
+        for (int i = 0; i < benchmarks.size(); i++) {
+            if (pattern == null || pattern.matcher(names.get(i)).find()) {
+                run(names.get(i), batches.get(i), benchmarks.get(i));
+            }
+        }
+    }
+
+    private void run(String name, int batch, Benchmark benchmark) {
+        com.sun.management.ThreadMXBean threads = allocationBean();
+        long threadId = Thread.currentThread().getId();
+
+        measure(benchmark, batch, warmupMillis);
+
+        long ops = 0, nanos = 0;
+        long allocatedBefore = threads != null ? threads.getThreadAllocatedBytes(threadId) : 0;
+        long gcCountBefore = gcCount(), gcTimeBefore = gcTime();
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            ops += measure(benchmark, batch, measureMillis);
+            nanos += System.nanoTime() - start;
+        }
+        long allocated = threads != null ? threads.getThreadAllocatedBytes(threadId) - allocatedBefore : -1;
+
+        System.out.printf("%-36s %14.0f %12.1f %12.1f %8d %8d%n", name,
+                ops * 1e9 / nanos,
+                (double) nanos / ops,
+                allocated < 0 ? Double.NaN : (double) allocated / ops,
+                gcCount() - gcCountBefore,
+                gcTime() - gcTimeBefore);
+    }
+
+    private long measure(Benchmark benchmark, int batch, long millis) {
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        long ops = 0, result = 0;
+        do {
+            result += benchmark.run(batch);
+            ops += batch;
+        } while (System.nanoTime() < deadline);
+        sink = result;
+        return ops;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(gc.getCollectionTime(), 0);
+        }
+        return time;
+    }
+}
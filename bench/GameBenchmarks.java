@@ -0,0 +1,107 @@
+/**
+ * 模型、字典和控制器热点路径的基准测试入口
+ *
+ * 用法：java GameBenchmarks [名称过滤正则] [每轮毫秒数] [轮数]
+ */
+public class GameBenchmarks {
+    private static final String[] VALID_WORDS = { "cold", "cord", "card", "ward", "warm", "worm" };
+    private static final String[] INVALID_WORDS = { "xxxx", "qzqz", "abcd", "zzzz", "cxld", "wqrm" };
+
+    public static void main(String[] args) {
+        String filter = args.length > 0 ? args[0] : null;
+        long measureMillis = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        WordIndex dictionary = DictionaryRegistry.get();
+        if (dictionary.size() == 0) {
+            throw new IllegalStateException("Dictionary failed to load or is empty");
+        }
+        BenchmarkRunner runner = new BenchmarkRunner(measureMillis, measureMillis, iterations);
+
+        runner.add("dictionary.load", 1,
+                batch -> {
+                    long result = 0;
+                    for (int i = 0; i < batch; i++) {
+                        result += DictionaryRegistry.load(DictionaryRegistry.DEFAULT_PATH).size();
+                    }
+                    return result;
+                });
+
+        Model model = fixedModel(dictionary, "cold", "warm");
+        runner.add("model.isValidWord", 1000,
+                batch -> {
+                    long result = 0;
+                    for (int i = 0; i < batch; i++) {
+                        String word = (i & 1) == 0 ? VALID_WORDS[i % VALID_WORDS.length] : INVALID_WORDS[i % INVALID_WORDS.length];
+                        result += model.isValidWord(word) ? 1 : 0;
+                    }
+                    return result;
+                });
+        runner.add("model.isOneLetterDifferent", 1000,
+                batch -> {
+                    long result = 0;
+                    for (int i = 0; i < batch; i++) {
+                        result += model.isOneLetterDifferent(VALID_WORDS[i % VALID_WORDS.length],
+                                VALID_WORDS[(i + 1) % VALID_WORDS.length]) ? 1 : 0;
+                    }
+                    return result;
+                });
+        runner.add("feedback.compute", 1000,
+                batch -> {
+                    long result = 0;
+                    for (int i = 0; i < batch; i++) {
+                        int bits = Feedback.compute(VALID_WORDS[i % VALID_WORDS.length], "warm");
+                        result += Feedback.message(bits, 4).length();
+                    }
+                    return result;
+                });
+
+        // cold 和 cord 互为一步之遥，交替输入可以一直走有效路径
+        Model validModel = fixedModel(dictionary, "cold", "warm");
+        runner.add("model.processWord.valid", 1000,
+                batch -> {
+                    for (int i = 0; i < batch; i++) {
+                        validModel.processWord((i & 1) == 0 ? "cord" : "cold");
+                    }
+                    return validModel.getAttempts();
+                });
+        Model invalidModel = fixedModel(dictionary, "cold", "warm");
+        runner.add("model.processWord.invalid", 1000,
+                batch -> {
+                    for (int i = 0; i < batch; i++) {
+                        invalidModel.processWord(INVALID_WORDS[i % INVALID_WORDS.length]);
+                    }
+                    return invalidModel.getAttempts();
+                });
+        // 每次获胜后在同一个Model上开始新的一局，包含重置的开销
+        Model winningModel = fixedModel(dictionary, "ward", "warm");
+        runner.add("model.processWord.win", 1000,
+                batch -> {
+                    long result = 0;
+                    for (int i = 0; i < batch; i++) {
+                        winningModel.processWord("warm");
+                        result += winningModel.isGameWon() ? 1 : 0;
+                        winningModel.newGame();
+                    }
+                    return result;
+                });
+
+        Controller controller = new Controller(model, null, true);
+        runner.add("controller.startNewGame", 100,
+                batch -> {
+                    long result = 0;
+                    for (int i = 0; i < batch; i++) {
+                        controller.startNewGame();
+                        result += controller.getModel().getTargetWord().length();
+                    }
+                    return result;
+                });
+
+        runner.runAll(filter);
+    }
+
+    private static Model fixedModel(WordIndex dictionary, String start, String target) {
+        Puzzle puzzle = new Puzzle(dictionary.indexOf(start), dictionary.indexOf(target), 0);
+        return new Model(false, random -> puzzle);
+    }
+}
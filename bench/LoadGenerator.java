@@ -0,0 +1,285 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * SessionEngine 的负载生成和长时间浸泡测试：在进程内模拟N个玩家，每个玩家按一种策略出招
+ * （求解器给出的最优路径、随机的相邻单词或随机的无效输入），按设定的速率调用 submit，
+ * 定期报告吞吐量、p50/p99/p999 延迟、分配速率和GC停顿。
+ *
+ * 限速时延迟从每一步计划开始的时间算起，而不是从实际开始的时间算起，这样系统变慢导致的排队时间也会计入延迟
+ * （避免协调遗漏）。
+ *
+ * 用法：java LoadGenerator [玩家数] [持续秒数] [每个玩家每秒步数，0为不限速] [最优:随机:无效 比例] [线程数] [报告间隔秒数]
+ * 例如：java LoadGenerator 10000 600 2 60:30:10 4 10
+ */
+public class LoadGenerator {
+    private static final String[] INVALID_INPUTS = { "zzzz", "qzqz", "c0ld", "ab", "toolong", "", "   " };
+    /** 随机走的玩家超过这么多步还没有获胜就重新开始 */
+    private static final int MAX_MOVES_PER_GAME = 64;
+
+    enum Strategy {
+        OPTIMAL, RANDOM_NEIGHBOR, INVALID
+    }
+
+    private final SessionEngine engine;
+    private final WordIndex dictionary;
+    private final WordGraph graph;
+    private final LatencyHistogram intervalLatency = new LatencyHistogram();
+    private final LatencyHistogram totalLatency = new LatencyHistogram();
+    private final LatencyHistogram gcPauses = new LatencyHistogram();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder games = new LongAdder();
+    private final AtomicLong lastGcPauseMillis = new AtomicLong();
+    private volatile boolean running = true;
+
+    LoadGenerator(SessionEngine engine) {
+        this.engine = engine;
+        this.dictionary = DictionaryRegistry.get();
+        this.graph = dictionary.graph();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        double rate = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+        int[] mix = parseMix(args.length > 3 ? args[3] : "60:30:10");
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        int reportSeconds = args.length > 5 ? Integer.parseInt(args[5]) : 10;
+
+        LoadGenerator generator = new LoadGenerator(new SessionEngine());
+        System.out.printf("%d players (%d%% optimal, %d%% random, %d%% invalid), %s per player, %d threads, %d s%n",
+                players, mix[0], mix[1], mix[2], rate > 0 ? rate + " moves/s" : "unlimited", threads, seconds);
+        generator.run(players, seconds, rate, mix, threads, reportSeconds);
+    }
+
+    private static int[] parseMix(String mix) {
+        String[] parts = mix.split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Mix must be optimal:random:invalid, e.g. 60:30:10");
+        }
+        int[] weights = new int[3];
+        for (int i = 0; i < 3; i++) {
+            weights[i] = Integer.parseInt(parts[i]);
+        }
+        return weights;
+    }
+
+    void run(int players, int seconds, double rate, int[] mix, int threads, int reportSeconds) throws Exception {
+        listenForGcPauses();
+        long intervalNanos = rate > 0 ? (long) (1e9 / rate) : 0;
+        int total = mix[0] + mix[1] + mix[2];
+        Random random = new Random();
+        List<List<Player>> assignments = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            assignments.add(new ArrayList<>());
+        }
+        long now = System.nanoTime();
+        for (int p = 0; p < players; p++) {
+            int roll = random.nextInt(Math.max(total, 1));
+            Strategy strategy = roll < mix[0] ? Strategy.OPTIMAL
+                    : roll < mix[0] + mix[1] ? Strategy.RANDOM_NEIGHBOR : Strategy.INVALID;
+            // 错开各玩家的第一步，避免同时开始
+            long firstMove = now + (intervalNanos > 0 ? (long) (random.nextDouble() * intervalNanos) : 0);
+            assignments.get(p % threads).add(new Player(engine.createSession(), strategy, firstMove, random.nextLong()));
+        }
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            List<Player> mine = assignments.get(t);
+            Thread worker = new Thread(() -> drive(mine, intervalNanos), "load-" + t);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+
+        com.sun.management.ThreadMXBean threadBean = allocationBean();
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        long lastReport = start, lastMoves = 0, lastAllocated = allocated(threadBean, workers);
+        long lastGcCount = gcCount(), lastGcTime = gcTime();
+        System.out.printf("%8s %12s %10s %10s %10s %10s %12s %8s %8s %10s%n", "time(s)", "moves/s", "games/s",
+                "p50(us)", "p99(us)", "p999(us)", "alloc(MB/s)", "gc.count", "gc.ms", "gc.max(ms)");
+        long lastGames = 0;
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(Math.min(reportSeconds * 1000L, Math.max(1, (deadline - System.nanoTime()) / 1_000_000)));
+            long t = System.nanoTime();
+            double elapsed = (t - lastReport) / 1e9;
+            long m = moves.sum(), g = games.sum();
+            long allocatedBytes = allocated(threadBean, workers);
+            long gcCount = gcCount(), gcTime = gcTime();
+            System.out.printf("%8.0f %12.0f %10.0f %10.1f %10.1f %10.1f %12.1f %8d %8d %10d%n",
+                    (t - start) / 1e9, (m - lastMoves) / elapsed, (g - lastGames) / elapsed,
+                    intervalLatency.percentile(0.50) / 1e3, intervalLatency.percentile(0.99) / 1e3,
+                    intervalLatency.percentile(0.999) / 1e3,
+                    allocatedBytes < 0 ? Double.NaN : (allocatedBytes - lastAllocated) / elapsed / (1 << 20),
+                    gcCount - lastGcCount, gcTime - lastGcTime, lastGcPauseMillis.getAndSet(0));
+            intervalLatency.reset();
+            lastReport = t;
+            lastMoves = m;
+            lastGames = g;
+            lastAllocated = allocatedBytes;
+            lastGcCount = gcCount;
+            lastGcTime = gcTime;
+        }
+        running = false;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%nTotal: %d moves, %d games in %.1f s (%.0f moves/s), %d sessions%n",
+                moves.sum(), games.sum(), elapsed, moves.sum() / elapsed, engine.size());
+        System.out.printf("Latency (us): p50 %.1f, p99 %.1f, p999 %.1f, max %.1f%n",
+                totalLatency.percentile(0.50) / 1e3, totalLatency.percentile(0.99) / 1e3,
+                totalLatency.percentile(0.999) / 1e3, totalLatency.max() / 1e3);
+        System.out.printf("GC pauses: %d, p99 %.1f ms, max %.1f ms%n", gcPauses.count(),
+                gcPauses.percentile(0.99) / 1e6, gcPauses.max() / 1e6);
+    }
+
+    /**
+     * 工作线程：轮流为自己负责的玩家出招，没有到期的玩家时短暂让出CPU
+     */
+    private void drive(List<Player> players, long intervalNanos) {
+        while (running) {
+            boolean idle = true;
+            for (Player player : players) {
+                long now = System.nanoTime();
+                if (intervalNanos > 0 && now < player.nextMove) {
+                    continue;
+                }
+                idle = false;
+                long intended = intervalNanos > 0 ? player.nextMove : now;
+                // 重新开始一局不是玩家的输入，不计入步数和延迟
+                if (player.move()) {
+                    long latency = System.nanoTime() - intended;
+                    intervalLatency.record(latency);
+                    totalLatency.record(latency);
+                    moves.increment();
+                }
+                player.nextMove = intended + intervalNanos;
+            }
+            if (idle) {
+                Thread.yield();
+            }
+        }
+    }
+
+    private final class Player {
+        private final long sessionId;
+        private final Strategy strategy;
+        private final Random random;
+        private long nextMove;
+        private int movesThisGame;
+
+        Player(long sessionId, Strategy strategy, long firstMove, long seed) {
+            this.sessionId = sessionId;
+            this.strategy = strategy;
+            this.nextMove = firstMove;
+            this.random = new Random(seed);
+        }
+
+        /**
+         * 出一步；上一局已经结束时改为重新开始一局
+         *
+         * @return 是否提交了一步输入，重新开始时返回false
+         */
+        boolean move() {
+            Model model = (Model) engine.getSession(sessionId);
+            if (model.isGameWon() || movesThisGame >= MAX_MOVES_PER_GAME) {
+                engine.restart(sessionId);
+                games.increment();
+                movesThisGame = 0;
+                return false;
+            }
+            movesThisGame++;
+            engine.submit(sessionId, nextInput(model));
+            return true;
+        }
+
+        private String nextInput(Model model) {
+            switch (strategy) {
+                case OPTIMAL:
+                    String hint = model.getHint();
+                    return hint != null ? hint : INVALID_INPUTS[0];
+                case RANDOM_NEIGHBOR:
+                    int last = model.getLastValidWordId();
+                    int degree = graph.degree(last);
+                    if (degree == 0) {
+                        return INVALID_INPUTS[0];
+                    }
+                    return dictionary.wordAt(graph.neighborAt(graph.rowStart(last) + random.nextInt(degree)));
+                default:
+                    return INVALID_INPUTS[random.nextInt(INVALID_INPUTS.length)];
+            }
+        }
+    }
+
+    // 通过GC通知记录每次停顿的时长，GarbageCollectorMXBean 只提供累计值
+    private void listenForGcPauses() {
+        NotificationListener listener = (Notification notification, Object handback) -> {
+            if (!"com.sun.management.gc.notification".equals(notification.getType())) {
+                return;
+            }
+            CompositeData info = (CompositeData) notification.getUserData();
+            CompositeData gcInfo = (CompositeData) info.get("gcInfo");
+            long millis = (Long) gcInfo.get("duration");
+            gcPauses.record(millis * 1_000_000);
+            lastGcPauseMillis.accumulateAndGet(millis, Math::max);
+        };
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter) {
+                ((NotificationEmitter) gc).addNotificationListener(listener, null, null);
+            }
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    // 工作线程分配的总字节数，不支持时返回-1
+    private static long allocated(com.sun.management.ThreadMXBean threads, List<Thread> workers) {
+        if (threads == null) {
+            return -1;
+        }
+        long total = 0;
+        for (Thread worker : workers) {
+            total += Math.max(threads.getThreadAllocatedBytes(worker.getId()), 0);
+        }
+        return total;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(gc.getCollectionTime(), 0);
+        }
+        return time;
+    }
+}
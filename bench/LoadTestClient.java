@@ -0,0 +1,109 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GameServer 的本地压测客户端：建立多个连接，每个连接用求解器给出的最短路径连续完成若干局游戏，
+ * 然后保持连接空闲一段时间，用来观察大量空闲连接的开销。
+ *
+ * 用法：java LoadTestClient [主机] [端口] [连接数] [每个连接的局数] [空闲秒数]
+ */
+public class LoadTestClient {
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 7070;
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int idleSeconds = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+
+        LadderSolver solver = new LadderSolver(DictionaryRegistry.get());
+        AtomicLong moves = new AtomicLong();
+        AtomicLong wins = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        CountDownLatch played = new CountDownLatch(connections);
+        CountDownLatch done = new CountDownLatch(connections);
+        ExecutorService executor = VirtualThreads.newPerTaskExecutor();
+
+        long start = System.nanoTime();
+        for (int c = 0; c < connections; c++) {
+            executor.execute(() -> {
+                boolean counted = false;
+                try (Socket socket = new Socket(host, port);
+                        BufferedReader in = new BufferedReader(
+                                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                        Writer out = new BufferedWriter(
+                                new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+                    socket.setTcpNoDelay(true);
+                    for (int g = 0; g < games; g++) {
+                        if (g > 0) {
+                            send(out, "restart");
+                            in.readLine(); // === Game Restarted ===
+                        }
+                        String startWord = value(in.readLine());
+                        String targetWord = value(in.readLine());
+                        List<String> path = solver.shortestPath(startWord, targetWord);
+                        String reply = null;
+                        for (int i = 1; i < path.size(); i++) {
+                            send(out, path.get(i));
+                            reply = in.readLine();
+                            moves.incrementAndGet();
+                        }
+                        if ("Game Won!".equals(reply)) {
+                            wins.incrementAndGet();
+                        } else {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    played.countDown();
+                    counted = true;
+                    if (idleSeconds > 0) {
+                        Thread.sleep(idleSeconds * 1000L);
+                    }
+                } catch (IOException | InterruptedException | RuntimeException e) {
+                    System.err.println("Connection error: " + e);
+                    failures.incrementAndGet();
+                } finally {
+                    if (!counted) {
+                        played.countDown();
+                    }
+                    done.countDown();
+                }
+            });
+        }
+
+        played.await();
+        long nanos = System.nanoTime() - start;
+        System.out.printf("Connections: %d, games won: %d, failures: %d%n", connections, wins.get(), failures.get());
+        System.out.printf("Moves: %d in %d ms (%.0f moves/s)%n", moves.get(), nanos / 1_000_000,
+                moves.get() * 1e9 / nanos);
+        if (idleSeconds > 0) {
+            System.out.println("Holding " + connections + " idle connections for " + idleSeconds + " s");
+        }
+        done.await();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private static void send(Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+    }
+
+    private static String value(String line) {
+        if (line == null) {
+            throw new IllegalStateException("Server closed the connection");
+        }
+        return line.substring(line.indexOf(':') + 1).trim();
+    }
+}
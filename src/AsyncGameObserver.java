@@ -0,0 +1,164 @@
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 异步观察者：把消息放进该观察者自己的有界环形队列，由专用的执行器在后台线程上依次投递给被包装的观察者，
+ * 慢观察者（Swing界面、日志、网络）不会拖慢 processWord 的调用线程。
+ *
+ * 同一个观察者的消息总是按顺序、在同一时刻最多一个线程上投递。队列满时按背压策略处理。
+ */
+public class AsyncGameObserver implements GameObserver {
+    /**
+     * 队列满时的背压策略
+     */
+    public enum BackpressurePolicy {
+        /** 丢弃新消息 */
+        DROP,
+        /** 阻塞调用线程直到队列有空位 */
+        BLOCK,
+        /** 丢弃最旧的待投递消息，只保留最近的消息 */
+        COALESCE
+    }
+
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "weaver-observer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final GameObserver delegate;
+    private final BackpressurePolicy policy;
+    private final Executor executor;
+    private final String[] ring;
+    private final int mask;
+    // head 为下一个待投递的位置，tail 为下一个写入的位置，均由 lock 保护
+    private long head;
+    private long tail;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final LongAdder dropped = new LongAdder();
+
+    public AsyncGameObserver(GameObserver delegate, BackpressurePolicy policy) {
+        this(delegate, policy, DEFAULT_CAPACITY, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * @param delegate 被包装的观察者
+     * @param policy   队列满时的背压策略
+     * @param capacity 队列容量，向上取整为2的幂
+     * @param executor 投递消息的执行器
+     */
+    public AsyncGameObserver(GameObserver delegate, BackpressurePolicy policy, int capacity, Executor executor) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.delegate = delegate;
+        this.policy = policy;
+        this.executor = executor;
+        int size = Integer.highestOneBit(capacity * 2 - 1);
+        this.ring = new String[size];
+        this.mask = size - 1;
+    }
+
+    @Override
+    public void onGameUpdate(String message) {
+        lock.lock();
+        try {
+            if (tail - head == ring.length) {
+                switch (policy) {
+                    case DROP:
+                        dropped.increment();
+                        return;
+                    case COALESCE:
+                        ring[(int) (head++ & mask)] = null;
+                        dropped.increment();
+                        break;
+                    case BLOCK:
+                        while (tail - head == ring.length) {
+                            notFull.awaitUninterruptibly();
+                        }
+                        break;
+                }
+            }
+            ring[(int) (tail++ & mask)] = message;
+        } finally {
+            lock.unlock();
+        }
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            String message;
+            lock.lock();
+            try {
+                if (head == tail) {
+                    // 在锁内清除标记：之后入队的线程一定能看到 false 并重新调度
+                    scheduled.set(false);
+                    return;
+                }
+                int slot = (int) (head++ & mask);
+                message = ring[slot];
+                ring[slot] = null;
+                notFull.signal();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                delegate.onGameUpdate(message);
+            } catch (RuntimeException e) {
+                System.err.println("Observer error: " + e.getMessage());
+            } catch (Error e) {
+                // 当前投递线程因错误退出，交出投递权并让剩余的消息由新的任务继续投递
+                releaseAndReschedule();
+                throw e;
+            }
+        }
+    }
+
+    private void releaseAndReschedule() {
+        boolean pending;
+        lock.lock();
+        try {
+            scheduled.set(false);
+            pending = head != tail;
+        } finally {
+            lock.unlock();
+        }
+        if (pending && scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    public GameObserver getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @return 因队列满而被丢弃的消息数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return 当前等待投递的消息数
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return (int) (tail - head);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,250 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 无界面的批量回放：从录制的对局记录文件中读取输入，逐步交给 Controller.handleUserInput 处理，
+ * 用于回放线上流量做回归测试以及在没有终端和显示器的环境下测吞吐量。
+ *
+ * 记录文件每行一局，用空白分隔：起始单词、目标单词，然后是玩家依次输入的内容，例如
+ * <pre>
+ * cold warm cord card ward warm
+ * </pre>
+ * 空行和以 # 开头的行会被跳过。文件按固定大小分块后以内存映射方式读取，各块在线程池上并行回放，
+ * 每块的统计结果最后合并。
+ */
+public final class BatchReplay {
+    /** 每块的最大大小，块的边界会移动到下一个换行符之后 */
+    static final int DEFAULT_CHUNK_SIZE = 16 << 20;
+    /** 单行的最大长度，跨越块边界的行最多向后多映射这么多字节 */
+    static final int MAX_LINE_BYTES = 64 << 10;
+
+    private final WordIndex dictionary;
+    private final int parallelism;
+    private final int chunkSize;
+
+    public BatchReplay(WordIndex dictionary, int parallelism) {
+        this(dictionary, parallelism, DEFAULT_CHUNK_SIZE);
+    }
+
+    BatchReplay(WordIndex dictionary, int parallelism, int chunkSize) {
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Parallelism and chunk size must be positive");
+        }
+        this.dictionary = dictionary;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 回放整个记录文件
+     *
+     * @param file 记录文件
+     * @return 合并后的统计结果
+     * @throws IOException 读取失败或某一行过长时抛出
+     */
+    public Stats replay(File file) throws IOException {
+        long size = file.length();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, task -> {
+            Thread thread = new Thread(task, "weaver-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // 小文件也至少分成每个线程几块，让各线程的负载大致均衡
+            long step = Math.min(chunkSize, size / (parallelism * 4L) + 1);
+            List<Future<Stats>> chunks = new ArrayList<>();
+            for (long start = 0; start < size; start += step) {
+                long chunkStart = start;
+                long chunkEnd = Math.min(size, start + step);
+                chunks.add(pool.submit(() -> replayChunk(channel, chunkStart, chunkEnd, size)));
+            }
+            Stats total = new Stats();
+            for (Future<Stats> chunk : chunks) {
+                total.merge(chunk.get());
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Replay interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Replay failed: " + cause.getMessage(), cause);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 回放一块：处理所有起始位置落在 [start, end) 中的行。不在文件开头的块先跳过前一块末尾的半行。
+     */
+    private Stats replayChunk(FileChannel channel, long start, long end, long size) throws IOException {
+        // 多映射前一个字节，用来判断本块是否正好从一行的开头开始
+        long mapStart = start > 0 ? start - 1 : 0;
+        long mapEnd = Math.min(size, end + MAX_LINE_BYTES);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+        int limit = (int) (end - mapStart);
+        int position = 0;
+        if (start > 0) {
+            // 从上一块开始的行由上一块负责
+            while (position < buffer.limit() && buffer.get(position) != '\n') {
+                position++;
+            }
+            position++;
+        }
+
+        Stats stats = new Stats();
+        byte[] line = new byte[MAX_LINE_BYTES];
+        while (position < limit) {
+            int length = 0;
+            while (position < buffer.limit()) {
+                byte b = buffer.get(position++);
+                if (b == '\n') {
+                    break;
+                }
+                if (length == line.length) {
+                    throw new IOException("Transcript line longer than " + MAX_LINE_BYTES + " bytes at offset "
+                            + (mapStart + position));
+                }
+                line[length++] = b;
+            }
+            replayLine(line, length, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * 回放一行记录
+     */
+    void replayLine(byte[] line, int length, Stats stats) {
+        int[] bounds = new int[2];
+        int position = 0;
+        position = nextToken(line, length, position, bounds);
+        if (bounds[0] == bounds[1] || line[bounds[0]] == '#') {
+            return;
+        }
+        String start = token(line, bounds);
+        position = nextToken(line, length, position, bounds);
+        String target = token(line, bounds);
+        int startId = dictionary.indexOf(start);
+        int targetId = dictionary.indexOf(target);
+        if (startId == -1 || targetId == -1 || startId == targetId) {
+            stats.skipped++;
+            return;
+        }
+
+        int par = DistanceFieldCache.defaultFor(dictionary).get(targetId).distance(startId);
+        Puzzle puzzle = new Puzzle(startId, targetId, par);
+        // 每行只回放一局，题目来源不会被用到，传入固定题目以免为回放的字典查找题目池
+        Model model = new Model(false, dictionary, random -> puzzle, puzzle);
+        model.addGameEventListener(stats);
+        Controller controller = new Controller(model, null, false);
+        stats.games++;
+        // 记录中的 restart 会让 Controller 换成一个随机的新局，统计没有监听它，这一行剩下的输入不再回放
+        while (controller.getModel() == model) {
+            position = nextToken(line, length, position, bounds);
+            if (bounds[0] == bounds[1]) {
+                break;
+            }
+            stats.moves++;
+            controller.handleUserInput(token(line, bounds));
+        }
+        if (controller.getModel() == model && model.isGameWon()) {
+            stats.wins++;
+            stats.winningAttempts += model.getAttempts();
+            stats.parOfWins += par;
+        }
+    }
+
+    private static int nextToken(byte[] line, int length, int position, int[] bounds) {
+        while (position < length && line[position] <= ' ') {
+            position++;
+        }
+        bounds[0] = position;
+        while (position < length && line[position] > ' ') {
+            position++;
+        }
+        bounds[1] = position;
+        return position;
+    }
+
+    private static String token(byte[] line, int[] bounds) {
+        return new String(line, bounds[0], bounds[1] - bounds[0], StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 回放统计：对局数、输入数、按结果分类的计数以及获胜局的步数。每块回放使用自己的实例，最后合并。
+     */
+    public static final class Stats implements GameEventListener {
+        private final long[] outcomes = new long[GameEvent.Kind.values().length];
+        long games;
+        long skipped;
+        long moves;
+        long wins;
+        long winningAttempts;
+        long parOfWins;
+
+        @Override
+        public void onGameEvent(GameEvent event, int wordId, int attempts) {
+            outcomes[event.getKind().ordinal()]++;
+        }
+
+        void merge(Stats other) {
+            for (int i = 0; i < outcomes.length; i++) {
+                outcomes[i] += other.outcomes[i];
+            }
+            games += other.games;
+            skipped += other.skipped;
+            moves += other.moves;
+            wins += other.wins;
+            winningAttempts += other.winningAttempts;
+            parOfWins += other.parOfWins;
+        }
+
+        public long outcomeCount(GameEvent.Kind kind) {
+            return outcomes[kind.ordinal()];
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getSkipped() {
+            return skipped;
+        }
+
+        public long getMoves() {
+            return moves;
+        }
+
+        public long getWins() {
+            return wins;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format("Games: %d (skipped %d), moves: %d%n", games, skipped, moves));
+            out.append(String.format("Wins: %d (%.1f%%), average attempts %.2f vs par %.2f%n", wins,
+                    games == 0 ? 0 : 100.0 * wins / games,
+                    wins == 0 ? 0 : (double) winningAttempts / wins,
+                    wins == 0 ? 0 : (double) parOfWins / wins));
+            for (GameEvent.Kind kind : GameEvent.Kind.values()) {
+                out.append(String.format("  %-26s %12d%n", kind.name(), outcomeCount(kind)));
+            }
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+import java.io.File;
+import java.util.List;
+
+/**
+ * 构建时的字典编译入口：把文本单词表按长度分片，编译成运行时直接映射使用的二进制字典 dictionary-N.bin
+ *
+ * 用法：java CompileDictionaryApp [输入单词表] [输出目录]
+ */
+public class CompileDictionaryApp {
+    public static void main(String[] args) {
+        try {
+            String input = args.length > 0 ? args[0] : DictionaryRegistry.DEFAULT_PATH;
+            File directory = new File(args.length > 1 ? args[1] : ".");
+            List<String> words = DictionaryRegistry.readWords(input);
+            int compiledShards = 0;
+            for (int length = DictionaryRegistry.MIN_WORD_LENGTH; length <= DictionaryRegistry.MAX_WORD_LENGTH; length++) {
+                WordIndex dictionary = new WordIndex(words, length);
+                if (dictionary.size() == 0) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                File output = new File(directory, CompiledDictionary.pathFor(length));
+                CompiledDictionary.write(dictionary, output);
+                System.out.printf("Compiled %d %d-letter words and %d edges in %d ms to %s%n", dictionary.size(),
+                        length, dictionary.graph().edgeCount(), (System.nanoTime() - start) / 1_000_000,
+                        output.getPath());
+                compiledShards++;
+            }
+            if (compiledShards == 0) {
+                throw new IllegalStateException("Dictionary failed to load or is empty");
+            }
+        } catch (Exception e) {
+            System.err.println("Compile error: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
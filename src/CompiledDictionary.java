@@ -0,0 +1,148 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 预编译的二进制字典格式。构建时把单词表编译成：已排序的打包键、单词图的CSR邻接数组和校验和；
+ * 运行时把文件映射到内存后整块复制成数组直接使用，不需要逐行读取、trim、转小写或重新构建单词图。
+ *
+ * 文件布局（大端）：
+ * <pre>
+ * int magic, int version, int wordLength, int wordCount, int neighborCount
+ * long keys[wordCount]
+ * int offsets[wordCount + 1]
+ * int neighbors[neighborCount]
+ * long crc32（前面所有字节的CRC32）
+ * </pre>
+ */
+public final class CompiledDictionary {
+    private static final String PATH_FORMAT = "dictionary-%d.bin";
+    private static final int MAGIC = 0x57564443; // "WVDC"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 20;
+
+    private CompiledDictionary() {
+    }
+
+    /**
+     * 每种单词长度单独编译成一个文件，例如 dictionary-4.bin
+     *
+     * @param wordLength 单词长度
+     * @return 该长度的默认文件路径
+     */
+    static String pathFor(int wordLength) {
+        return String.format(PATH_FORMAT, wordLength);
+    }
+
+    /**
+     * 把字典和它的单词图编译成二进制文件
+     *
+     * @param dictionary 字典索引
+     * @param file       输出文件
+     * @throws IOException 写入失败时抛出
+     */
+    public static void write(WordIndex dictionary, File file) throws IOException {
+        WordGraph graph = dictionary.graph();
+        int[] offsets = graph.offsets();
+        int[] neighbors = graph.neighbors();
+        CRC32 crc = new CRC32();
+        try (FileOutputStream fileOut = new FileOutputStream(file);
+             DataOutputStream out = new DataOutputStream(
+                     new CheckedOutputStream(new BufferedOutputStream(fileOut), crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(dictionary.getWordLength());
+            out.writeInt(dictionary.size());
+            out.writeInt(neighbors.length);
+            for (int id = 0; id < dictionary.size(); id++) {
+                out.writeLong(dictionary.keyAt(id));
+            }
+            for (int offset : offsets) {
+                out.writeInt(offset);
+            }
+            for (int neighbor : neighbors) {
+                out.writeInt(neighbor);
+            }
+            // 校验和本身不计入CRC
+            out.flush();
+            new DataOutputStream(fileOut).writeLong(crc.getValue());
+        }
+    }
+
+    /**
+     * 只读取文件头中的单词数，不加载单词和单词图
+     *
+     * @param file       二进制字典文件
+     * @param wordLength 期望的单词长度
+     * @return 文件中的单词数
+     * @throws IOException 文件头损坏、版本或长度不符时抛出
+     */
+    static int readWordCount(File file, int wordLength) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // 读满文件头
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != VERSION
+                    || header.getInt(8) != wordLength || header.getInt(12) < 0) {
+                throw new IOException("Not a compiled dictionary: " + file);
+            }
+            return header.getInt(12);
+        }
+    }
+
+    /**
+     * 映射并加载二进制字典
+     *
+     * @param file 二进制字典文件
+     * @return 带有预构建单词图的字典索引
+     * @throws IOException 文件损坏、版本不符或读取失败时抛出
+     */
+    public static WordIndex read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE + 8) {
+                throw new IOException("Not a compiled dictionary: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a compiled dictionary: " + file);
+            }
+            int wordLength = buffer.getInt(8);
+            int wordCount = buffer.getInt(12);
+            int neighborCount = buffer.getInt(16);
+            long payloadSize = HEADER_SIZE + 8L * wordCount + 4L * (wordCount + 1 + neighborCount);
+            if (wordCount < 0 || neighborCount < 0 || payloadSize + 8 != fileSize) {
+                throw new IOException("Truncated compiled dictionary: " + file);
+            }
+
+            ByteBuffer payload = buffer.duplicate();
+            payload.limit((int) payloadSize);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if (crc.getValue() != buffer.getLong((int) payloadSize)) {
+                throw new IOException("Compiled dictionary checksum mismatch: " + file);
+            }
+
+            long[] keys = new long[wordCount];
+            int[] offsets = new int[wordCount + 1];
+            int[] neighbors = new int[neighborCount];
+            buffer.position(HEADER_SIZE);
+            buffer.asLongBuffer().get(keys);
+            buffer.position(HEADER_SIZE + 8 * wordCount);
+            IntBuffer ints = buffer.asIntBuffer();
+            ints.get(offsets);
+            ints.get(neighbors);
+            return new WordIndex(keys, wordLength, new WordGraph(offsets, neighbors));
+        }
+    }
+}
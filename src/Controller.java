@@ -57,9 +57,34 @@ public class Controller {
         return model.getAttempts();
     }
 
+    public String getHint() {
+        return model.getHint();
+    }
+
+    public int getWordLength() {
+        return model.getWordLength();
+    }
+
     public void startNewGame() {
+        // 保持当前的单词长度
+        startNewGame(model.getWordLength());
+    }
+
+    /**
+     * 以指定的单词长度开始新游戏，该长度的字典分片在第一次使用时加载
+     *
+     * @param wordLength 单词长度（3到8）
+     */
+    public void startNewGame(int wordLength) {
+        long start = System.nanoTime();
         // 在Model中重新选择单词
-        model = new Model(isGUI);
+        model = new Model(isGUI, wordLength);
+        GameMetrics.START_NEW_GAME.record(System.nanoTime() - start);
+        // 没有视图时（无界面运行）只替换Model
+        if (view == null) {
+            return;
+        }
+
         // 重新设置视图
         view.setController(this);
 
@@ -0,0 +1,206 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 进程内共享的字典注册表。字典按单词长度分片，每个长度有自己的 WordIndex 和单词图，
+ * 某个长度第一次被请求时才加载，之后所有该长度的 Model 实例共享同一个不可变的分片。
+ * 没有用到的长度不占用内存。
+ *
+ * 如果存在不比单词表旧的预编译分片 dictionary-N.bin（见 CompileDictionaryApp），优先映射加载它，
+ * 否则回退到逐行解析 dictionary.txt 并只保留该长度的单词。
+ */
+public final class DictionaryRegistry {
+    static final String DEFAULT_PATH = "dictionary.txt";
+    static final int MIN_WORD_LENGTH = 3;
+    static final int MAX_WORD_LENGTH = 8;
+    static final int DEFAULT_WORD_LENGTH = 4;
+
+    private static final AtomicReferenceArray<WordIndex> shards = new AtomicReferenceArray<>(MAX_WORD_LENGTH + 1);
+
+    private DictionaryRegistry() {
+    }
+
+    /**
+     * 获取默认长度的共享字典
+     *
+     * @return 共享字典
+     */
+    public static WordIndex get() {
+        return get(DEFAULT_WORD_LENGTH);
+    }
+
+    /**
+     * 获取指定长度的共享字典分片，第一次调用时加载。单词表中没有该长度的单词时缓存空分片，不会每次都重新解析；
+     * 单词表不存在等加载失败的情况返回空字典且不缓存，下次调用会重新尝试。
+     *
+     * @param wordLength 单词长度（3到8）
+     * @return 共享字典分片
+     */
+    public static WordIndex get(int wordLength) {
+        checkLength(wordLength);
+        WordIndex index = shards.get(wordLength);
+        if (index == null) {
+            synchronized (DictionaryRegistry.class) {
+                index = shards.get(wordLength);
+                if (index == null) {
+                    index = loadShard(wordLength);
+                    if (isCacheable(index)) {
+                        shards.set(wordLength, index);
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * 重新从文件加载所有已加载的分片并替换共享实例。已经创建的 Model 继续使用旧字典，新的 Model 使用新字典。
+     *
+     * @return 重新加载后的默认长度字典
+     */
+    public static WordIndex reload() {
+        synchronized (DictionaryRegistry.class) {
+            for (int length = MIN_WORD_LENGTH; length <= MAX_WORD_LENGTH; length++) {
+                if (length != DEFAULT_WORD_LENGTH && shards.get(length) != null) {
+                    WordIndex index = loadShard(length);
+                    if (isCacheable(index)) {
+                        shards.set(length, index);
+                    }
+                }
+            }
+            WordIndex index = loadShard(DEFAULT_WORD_LENGTH);
+            if (isCacheable(index)) {
+                shards.set(DEFAULT_WORD_LENGTH, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * 获取字典中有单词的长度，用于界面上的长度选择。不会加载分片：已加载的分片直接看大小，
+     * 有可用的预编译分片时只读它的文件头，其余长度合并为一次对单词表的扫描。分片仍然在开始该长度的游戏时才加载。
+     *
+     * @return 有单词的长度，按从小到大排列
+     */
+    public static List<Integer> availableLengths() {
+        boolean[] present = null;
+        List<Integer> lengths = new ArrayList<>();
+        for (int length = MIN_WORD_LENGTH; length <= MAX_WORD_LENGTH; length++) {
+            int count = countWords(length);
+            if (count < 0) {
+                if (present == null) {
+                    present = lengthsInWordList(DEFAULT_PATH);
+                }
+                count = present[length] ? 1 : 0;
+            }
+            if (count > 0) {
+                lengths.add(length);
+            }
+        }
+        return lengths;
+    }
+
+    // 不加载分片得到的单词数，需要扫描单词表时返回-1
+    private static int countWords(int wordLength) {
+        WordIndex loaded = shards.get(wordLength);
+        if (loaded != null) {
+            return loaded.size();
+        }
+        File compiled = compiledShard(wordLength);
+        if (compiled != null) {
+            try {
+                return CompiledDictionary.readWordCount(compiled, wordLength);
+            } catch (IOException e) {
+                System.err.println("Ignoring compiled dictionary: " + e.getMessage());
+            }
+        }
+        return -1;
+    }
+
+    // 扫描一遍单词表，记录每个长度是否至少有一个有效单词（与 WordIndex 的过滤规则相同）
+    static boolean[] lengthsInWordList(String path) {
+        boolean[] present = new boolean[MAX_WORD_LENGTH + 1];
+        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String word = line.trim().toLowerCase();
+                int length = word.length();
+                if (length >= MIN_WORD_LENGTH && length <= MAX_WORD_LENGTH && WordIndex.pack(word, length) != -1) {
+                    present[length] = true;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Unable to load dictionary file: " + path);
+        }
+        return present;
+    }
+
+    // 空分片只有在单词表确实存在（即该长度确实没有单词）时才缓存
+    private static boolean isCacheable(WordIndex index) {
+        return index.size() > 0 || new File(DEFAULT_PATH).isFile();
+    }
+
+    static void checkLength(int wordLength) {
+        if (wordLength < MIN_WORD_LENGTH || wordLength > MAX_WORD_LENGTH) {
+            throw new IllegalArgumentException("Word length must be between " + MIN_WORD_LENGTH
+                    + " and " + MAX_WORD_LENGTH + ": " + wordLength);
+        }
+    }
+
+    private static WordIndex loadShard(int wordLength) {
+        long start = System.nanoTime();
+        WordIndex index = readShard(wordLength);
+        GameMetrics.DICTIONARY_LOAD.record(System.nanoTime() - start);
+        return index;
+    }
+
+    private static WordIndex readShard(int wordLength) {
+        File compiled = compiledShard(wordLength);
+        if (compiled != null) {
+            try {
+                WordIndex index = CompiledDictionary.read(compiled);
+                if (index.getWordLength() == wordLength) {
+                    return index;
+                }
+            } catch (IOException e) {
+                System.err.println("Ignoring compiled dictionary: " + e.getMessage());
+            }
+        }
+        return load(DEFAULT_PATH, wordLength);
+    }
+
+    // 存在且不比单词表旧的预编译分片，没有时返回null
+    private static File compiledShard(int wordLength) {
+        File text = new File(DEFAULT_PATH);
+        File compiled = new File(CompiledDictionary.pathFor(wordLength));
+        return compiled.isFile() && (!text.exists() || compiled.lastModified() >= text.lastModified()) ? compiled : null;
+    }
+
+    static WordIndex load(String path) {
+        return load(path, DEFAULT_WORD_LENGTH);
+    }
+
+    static WordIndex load(String path, int wordLength) {
+        // WordIndex 会丢弃长度不符或含有非 a-z 字符的行
+        return new WordIndex(readWords(path), wordLength);
+    }
+
+    static List<String> readWords(String path) {
+        List<String> dictionary = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                dictionary.add(line.trim().toLowerCase());
+            }
+        } catch (IOException e) {
+            System.err.println("Unable to load dictionary file: " + path);
+            e.printStackTrace();
+        }
+        return dictionary;
+    }
+}
@@ -0,0 +1,94 @@
+import java.util.Arrays;
+
+/**
+ * 单个目标单词的距离场：从目标单词做一次广度优先搜索，记录每个单词到目标的最短步数（每个单词一个字节）。
+ *
+ * 有了距离场，任意单词的下一步最优走法只需要在它的邻接行中找一个距离小1的邻居，不需要再次搜索。
+ */
+public final class DistanceField {
+    /** 无法到达目标时的值 */
+    public static final byte UNREACHABLE = -1;
+
+    private final int target;
+    private final byte[] distances;
+
+    private DistanceField(int target, byte[] distances) {
+        this.target = target;
+        this.distances = distances;
+    }
+
+    /**
+     * 计算到目标单词的距离场
+     *
+     * @param graph  单词图
+     * @param target 目标单词id
+     * @return 距离场
+     */
+    public static DistanceField compute(WordGraph graph, int target) {
+        int n = graph.nodeCount();
+        byte[] distances = new byte[n];
+        fill(graph, target, distances, 0, new int[n]);
+        return new DistanceField(target, distances);
+    }
+
+    /**
+     * 从 source 做广度优先搜索，把步数写入 distances[offset .. offset + n)
+     *
+     * @param queue 长度至少为 n 的工作队列，由调用方提供以便复用
+     */
+    static void fill(WordGraph graph, int source, byte[] distances, int offset, int[] queue) {
+        int n = graph.nodeCount();
+        Arrays.fill(distances, offset, offset + n, UNREACHABLE);
+        distances[offset + source] = 0;
+        queue[0] = source;
+        int head = 0, tail = 1;
+        while (head < tail) {
+            int u = queue[head++];
+            // 超过127步的部分按127保存，实际字典中的最长路径远小于这个值
+            int d = Math.min(distances[offset + u] + 1, Byte.MAX_VALUE);
+            for (int p = graph.rowStart(u), end = graph.rowEnd(u); p < end; p++) {
+                int v = graph.neighborAt(p);
+                if (distances[offset + v] == UNREACHABLE) {
+                    distances[offset + v] = (byte) d;
+                    queue[tail++] = v;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 单词到目标的最短步数，无法到达时返回-1
+     */
+    public int distance(int id) {
+        return distances[id];
+    }
+
+    /**
+     * 找出从 from 出发沿最短路径走向目标的下一个单词。有多个最优选择时返回id最小（字母顺序最前）的一个。
+     *
+     * @param graph 计算距离场时使用的单词图
+     * @param from  当前单词id
+     * @return 下一个单词id；已经在目标上或无法到达时返回-1
+     */
+    public int nextStep(WordGraph graph, int from) {
+        int d = distances[from];
+        if (d <= 0) {
+            return -1;
+        }
+        for (int p = graph.rowStart(from), end = graph.rowEnd(from); p < end; p++) {
+            int v = graph.neighborAt(p);
+            if (distances[v] == d - 1) {
+                return v;
+            }
+        }
+        return -1;
+    }
+
+    public int getTarget() {
+        return target;
+    }
+
+    public int size() {
+        return distances.length;
+    }
+}
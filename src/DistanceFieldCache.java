@@ -0,0 +1,187 @@
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按目标单词id缓存距离场（见 DistanceField），在所有会话之间共享。很多同时进行的游戏目标相同（例如每日挑战），
+ * 同一个目标的广度优先搜索只需要做一次。
+ *
+ * 缓存按总字节数限制大小，分成若干段，每段是一个按访问顺序排列的 LinkedHashMap（LRU），由段自身加锁，
+ * 不同目标的查询大多落在不同的段上互不阻塞。同一个目标同时未命中时只有一个线程计算，其余线程等待它的结果。
+ */
+public final class DistanceFieldCache {
+    /** 默认的缓存上限（字节），4字母字典约4000个单词，可以缓存约4000个目标 */
+    static final long DEFAULT_MAX_BYTES = 16L << 20;
+    private static final int SEGMENTS = 16;
+
+    // 每种单词长度一个默认缓存
+    private static final AtomicReferenceArray<DistanceFieldCache> defaultCaches =
+            new AtomicReferenceArray<>(WordIndex.MAX_WORD_LENGTH + 1);
+
+    private final WordGraph graph;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param dictionary 字典
+     * @param maxBytes   所有距离场加起来最多占用的字节数，至少保留每段一个距离场
+     */
+    public DistanceFieldCache(WordIndex dictionary, long maxBytes) {
+        this.graph = dictionary.graph();
+        long maxEntries = maxBytes / Math.max(graph.nodeCount(), 1);
+        int perSegment = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxEntries / SEGMENTS));
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * 获取字典的共享缓存，同一长度的字典不变时复用同一个实例
+     *
+     * @param dictionary 字典
+     * @return 共享缓存
+     */
+    public static DistanceFieldCache defaultFor(WordIndex dictionary) {
+        int length = dictionary.getWordLength();
+        DistanceFieldCache cache = defaultCaches.get(length);
+        if (cache == null || cache.graph != dictionary.graph()) {
+            synchronized (DistanceFieldCache.class) {
+                cache = defaultCaches.get(length);
+                if (cache == null || cache.graph != dictionary.graph()) {
+                    cache = new DistanceFieldCache(dictionary, DEFAULT_MAX_BYTES);
+                    defaultCaches.set(length, cache);
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * 获取到目标单词的距离场，不在缓存中时计算并放入缓存
+     *
+     * @param target 目标单词id
+     * @return 距离场
+     */
+    public DistanceField get(int target) {
+        Segment segment = segments[target & (SEGMENTS - 1)];
+        FutureTask<DistanceField> load;
+        boolean owner = false;
+        synchronized (segment) {
+            DistanceField field = segment.fields.get(target);
+            if (field != null) {
+                hits.increment();
+                return field;
+            }
+            load = segment.loading.get(target);
+            if (load == null) {
+                load = new FutureTask<>(() -> DistanceField.compute(graph, target));
+                segment.loading.put(target, load);
+                owner = true;
+            }
+        }
+
+        if (!owner) {
+            // 其他线程正在计算同一个目标，等待它的结果
+            hits.increment();
+            return await(load);
+        }
+
+        misses.increment();
+        load.run();
+        synchronized (segment) {
+            segment.loading.remove(target);
+            // 计算已经完成，这里不会阻塞；计算失败时直接抛出且不缓存，下次查询重新计算
+            DistanceField field = await(load);
+            segment.fields.put(target, field);
+            evictions.add(segment.evictOverflow());
+            return field;
+        }
+    }
+
+    private static DistanceField await(FutureTask<DistanceField> load) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return load.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new IllegalStateException(cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @return 命中次数，包括等待其他线程正在进行的计算
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return 未命中次数，即实际进行广度优先搜索的次数
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return 当前缓存的距离场个数
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.fields.size();
+            }
+        }
+        return size;
+    }
+
+    private static final class Segment {
+        private final int capacity;
+        // 按访问顺序排列，最久未使用的在最前面
+        private final LinkedHashMap<Integer, DistanceField> fields = new LinkedHashMap<>(16, 0.75f, true);
+        private final Map<Integer, FutureTask<DistanceField>> loading = new HashMap<>();
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+        }
+
+        int evictOverflow() {
+            int evicted = 0;
+            Iterator<DistanceField> it = fields.values().iterator();
+            while (fields.size() > capacity && it.hasNext()) {
+                it.next();
+                it.remove();
+                evicted++;
+            }
+            return evicted;
+        }
+    }
+}
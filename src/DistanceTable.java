@@ -0,0 +1,76 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 全对最短步数表：对每个单词做一次广度优先搜索，把任意两个单词之间的步数存放在 n×n 的字节矩阵中。
+ *
+ * 只用于离线预计算（见 PrecomputeApp），各个起点的搜索在 ForkJoinPool 上并行执行。
+ */
+public final class DistanceTable {
+    /** 无法到达时矩阵中的值 */
+    public static final byte UNREACHABLE = DistanceField.UNREACHABLE;
+    private static final int ROWS_PER_TASK = 16;
+
+    private final int size;
+    private final byte[] distances;
+
+    private DistanceTable(int size, byte[] distances) {
+        this.size = size;
+        this.distances = distances;
+    }
+
+    /**
+     * 在给定的线程池上计算全对步数表
+     *
+     * @param graph 单词图
+     * @param pool  执行搜索的线程池
+     * @return 步数表
+     */
+    public static DistanceTable compute(WordGraph graph, ForkJoinPool pool) {
+        int n = graph.nodeCount();
+        byte[] distances = new byte[n * n];
+        pool.invoke(new RowTask(graph, distances, 0, n));
+        return new DistanceTable(n, distances);
+    }
+
+    /**
+     * @return 两个单词之间的最短步数，无法到达时返回-1
+     */
+    public int distance(int from, int to) {
+        return distances[from * size + to];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static final class RowTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final WordGraph graph;
+        private final byte[] distances;
+        private final int from;
+        private final int to;
+
+        RowTask(WordGraph graph, byte[] distances, int from, int to) {
+            this.graph = graph;
+            this.distances = distances;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > ROWS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RowTask(graph, distances, from, mid), new RowTask(graph, distances, mid, to));
+                return;
+            }
+            int n = graph.nodeCount();
+            int[] queue = new int[n];
+            for (int source = from; source < to; source++) {
+                DistanceField.fill(graph, source, distances, source * n, queue);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * 猜测反馈的打包表示：每个位置占一位，1 表示 G（字母和位置都正确），0 表示 X。
+ * 第一个字母对应最高位，例如 "GXXG" 打包为 0b1001。
+ *
+ * 所有可能的反馈字符串和 "Feedback: ..." 消息都预先生成，查表即可得到，不需要在每次猜测时拼接字符串。
+ */
+public final class Feedback {
+    /** 支持的最大单词长度 */
+    static final int MAX_LENGTH = 8;
+
+    // PATTERNS[length][bits] 和 MESSAGES[length][bits]
+    private static final String[][] PATTERNS = new String[MAX_LENGTH + 1][];
+    private static final String[][] MESSAGES = new String[MAX_LENGTH + 1][];
+
+    static {
+        for (int length = 1; length <= MAX_LENGTH; length++) {
+            PATTERNS[length] = new String[1 << length];
+            MESSAGES[length] = new String[1 << length];
+            for (int bits = 0; bits < (1 << length); bits++) {
+                char[] chars = new char[length];
+                for (int i = 0; i < length; i++) {
+                    chars[i] = isCorrect(bits, i, length) ? 'G' : 'X';
+                }
+                PATTERNS[length][bits] = new String(chars).intern();
+                MESSAGES[length][bits] = ("Feedback: " + PATTERNS[length][bits]).intern();
+            }
+        }
+    }
+
+    private Feedback() {
+    }
+
+    /**
+     * 计算猜测单词相对于目标单词的反馈
+     *
+     * @param guess  猜测的单词
+     * @param target 目标单词，长度与猜测的单词相同
+     * @return 打包后的反馈
+     */
+    public static int compute(CharSequence guess, CharSequence target) {
+        int length = guess.length();
+        int bits = 0;
+        for (int i = 0; i < length; i++) {
+            bits = (bits << 1) | (guess.charAt(i) == target.charAt(i) ? 1 : 0);
+        }
+        return bits;
+    }
+
+    /**
+     * @return 第 position 个字母是否正确
+     */
+    public static boolean isCorrect(int bits, int position, int length) {
+        return (bits >>> (length - 1 - position) & 1) != 0;
+    }
+
+    /**
+     * @return 反馈字符串，例如 "GXXG"
+     */
+    public static String pattern(int bits, int length) {
+        return PATTERNS[length][bits];
+    }
+
+    /**
+     * @return 发给观察者的反馈消息，例如 "Feedback: GXXG"
+     */
+    public static String message(int bits, int length) {
+        return MESSAGES[length][bits];
+    }
+}
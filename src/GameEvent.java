@@ -0,0 +1,117 @@
+/**
+ * 类型化的游戏事件，与 GameObserver 收到的字符串消息一一对应。
+ *
+ * 所有事件都是预先创建的单例（每种错误一个，每种反馈结果一个），处理输入时只需要取出对应的实例，
+ * 接收方按 getKind 和 getFeedbackBits 处理，不需要解析或拼接字符串。
+ */
+public final class GameEvent {
+    /**
+     * 事件类型
+     */
+    public enum Kind {
+        FEEDBACK,
+        GAME_WON,
+        GAME_ALREADY_OVER,
+        ERROR_EMPTY,
+        ERROR_LENGTH,
+        ERROR_CHARACTERS,
+        ERROR_NOT_IN_DICTIONARY,
+        ERROR_NOT_ONE_LETTER;
+
+        public boolean isError() {
+            return this.compareTo(ERROR_EMPTY) >= 0;
+        }
+    }
+
+    public static final GameEvent GAME_WON = new GameEvent(Kind.GAME_WON, 0, 0, "Game Won!");
+    public static final GameEvent GAME_ALREADY_OVER = new GameEvent(Kind.GAME_ALREADY_OVER, 0, 0,
+            "Game already over. You won!");
+    public static final GameEvent ERROR_EMPTY = new GameEvent(Kind.ERROR_EMPTY, 0, 0,
+            "Error: Please enter a word");
+    public static final GameEvent ERROR_CHARACTERS = new GameEvent(Kind.ERROR_CHARACTERS, 0, 0,
+            "Error: Only lowercase letters allowed");
+    public static final GameEvent ERROR_NOT_IN_DICTIONARY = new GameEvent(Kind.ERROR_NOT_IN_DICTIONARY, 0, 0,
+            "Error: Word not in dictionary");
+    public static final GameEvent ERROR_NOT_ONE_LETTER = new GameEvent(Kind.ERROR_NOT_ONE_LETTER, 0, 0,
+            "Error: Only one letter can be changed at a time");
+
+    // FEEDBACK_EVENTS[length][bits]
+    private static final GameEvent[][] FEEDBACK_EVENTS = new GameEvent[Feedback.MAX_LENGTH + 1][];
+    // LENGTH_ERRORS[length]，每种单词长度一个长度错误
+    private static final GameEvent[] LENGTH_ERRORS = new GameEvent[Feedback.MAX_LENGTH + 1];
+
+    static {
+        for (int length = 1; length <= Feedback.MAX_LENGTH; length++) {
+            LENGTH_ERRORS[length] = new GameEvent(Kind.ERROR_LENGTH, 0, length,
+                    "Error: Word must be " + length + " letters");
+            FEEDBACK_EVENTS[length] = new GameEvent[1 << length];
+            for (int bits = 0; bits < (1 << length); bits++) {
+                FEEDBACK_EVENTS[length][bits] = new GameEvent(Kind.FEEDBACK, bits, length,
+                        Feedback.message(bits, length));
+            }
+        }
+    }
+
+    private final Kind kind;
+    private final int feedbackBits;
+    private final int wordLength;
+    private final String message;
+
+    private GameEvent(Kind kind, int feedbackBits, int wordLength, String message) {
+        this.kind = kind;
+        this.feedbackBits = feedbackBits;
+        this.wordLength = wordLength;
+        this.message = message;
+    }
+
+    /**
+     * 获取反馈事件的单例
+     *
+     * @param bits   打包后的反馈（见 Feedback）
+     * @param length 单词长度
+     * @return 反馈事件
+     */
+    public static GameEvent feedback(int bits, int length) {
+        return FEEDBACK_EVENTS[length][bits];
+    }
+
+    /**
+     * 获取长度错误事件的单例
+     *
+     * @param length 本局要求的单词长度
+     * @return 长度错误事件
+     */
+    public static GameEvent lengthError(int length) {
+        return LENGTH_ERRORS[length];
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return 打包后的反馈，只对 FEEDBACK 事件有意义
+     */
+    public int getFeedbackBits() {
+        return feedbackBits;
+    }
+
+    /**
+     * @return 反馈或长度错误对应的单词长度，只对 FEEDBACK 和 ERROR_LENGTH 事件有意义
+     */
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    /**
+     * @return 与该事件对应的字符串消息，即 GameObserver 收到的消息
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return message;
+    }
+}
@@ -0,0 +1,13 @@
+/**
+ * 类型化的游戏事件监听器，事件对象都是预先创建的单例
+ */
+interface GameEventListener {
+    /**
+     * 当游戏状态更新时被调用
+     * 
+     * @param event    游戏事件
+     * @param wordId   本次输入对应的字典单词id，输入不是字典中的单词时为-1
+     * @param attempts 当前尝试次数
+     */
+    void onGameEvent(GameEvent event, int wordId, int attempts);
+}
@@ -0,0 +1,264 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * 只追加的游戏日志：每个被接受的操作写成一条32字节的定长二进制记录，存放在内存映射的分段文件中。
+ *
+ * 写入只是内存拷贝，后台线程按固定间隔统一把脏页刷到磁盘（组提交），因此不会每一步都 fsync；
+ * 崩溃时最多丢失最后一个刷盘间隔内的记录。重放时按写入顺序把记录交给 RecordHandler。
+ *
+ * 记录格式（大端）：会话id(long)、时间戳毫秒(long)、类型(int)、单词id(int)、附加值(int)、尝试次数(int)。
+ * 类型为0表示该位置还没有写入记录。
+ */
+public class GameJournal implements AutoCloseable {
+    /** 开始一局游戏：单词id为起始单词，附加值为目标单词，尝试次数字段为标准步数 */
+    public static final int START = 1;
+    /** 接受一步操作：单词id为输入的单词，尝试次数为这一步之后的次数 */
+    public static final int MOVE = 2;
+    /** 会话关闭 */
+    public static final int CLOSE = 3;
+
+    static final int RECORD_SIZE = 32;
+    static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 10;
+
+    /**
+     * 重放日志时接收记录的回调
+     */
+    public interface RecordHandler {
+        void onRecord(long sessionId, long timestamp, int type, int wordId, int aux, int attempt);
+    }
+
+    private final File directory;
+    private final int segmentSize;
+    private int segmentIndex;
+    private MappedByteBuffer segment;
+    private boolean dirty;
+    // 换段后还没有刷盘的上一个分段
+    private MappedByteBuffer retired;
+    // 保证同一时间只有一个线程在刷盘；刷盘时不持有 this，append 不会因此等待
+    private final Object flushLock = new Object();
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    public GameJournal(File directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    /**
+     * 打开日志目录，在最后一个分段的末尾继续写入。目录中已有分段文件时沿用写入它们时的分段大小
+     *
+     * @param directory           日志目录
+     * @param segmentSize         新日志每个分段文件的大小，会向下取整为记录大小的整数倍
+     * @param flushIntervalMillis 组提交的刷盘间隔
+     */
+    public GameJournal(File directory, int segmentSize, long flushIntervalMillis) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create journal directory: " + directory);
+        }
+        this.directory = directory;
+        int[] segments = listSegments(directory);
+        this.segmentSize = segments.length == 0 ? segmentSize / RECORD_SIZE * RECORD_SIZE
+                : segmentSizeOf(directory, segments);
+        this.segmentIndex = segments.length == 0 ? 0 : segments[segments.length - 1];
+        this.segment = map(segmentFile(directory, segmentIndex), this.segmentSize);
+        this.segment.position(findEnd(segment));
+
+        this.flusher = new Thread(() -> {
+            while (!closed) {
+                try {
+                    Thread.sleep(flushIntervalMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                sync();
+            }
+        }, "weaver-journal-flush");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * 追加一条记录，只写入内存映射，由后台线程统一刷盘
+     */
+    public synchronized void append(long sessionId, int type, int wordId, int aux, int attempt) {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        if (segment.remaining() < RECORD_SIZE) {
+            roll();
+        }
+        // 类型最后写入：崩溃时写了一半的记录类型仍为0，重放时会被当作日志末尾
+        int p = segment.position();
+        segment.putLong(p, sessionId);
+        segment.putLong(p + 8, System.currentTimeMillis());
+        segment.putInt(p + 20, wordId);
+        segment.putInt(p + 24, aux);
+        segment.putInt(p + 28, attempt);
+        segment.putInt(p + 16, type);
+        segment.position(p + RECORD_SIZE);
+        dirty = true;
+    }
+
+    /**
+     * @return 下一条记录在整个日志中的位置，可以传给 replay 从这里开始重放
+     */
+    public synchronized long position() {
+        return (long) segmentIndex * segmentSize + segment.position();
+    }
+
+    /**
+     * @return 这个日志使用的分段大小
+     */
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * 立即把已写入的记录刷到磁盘。只在持有 this 时取出需要刷盘的分段，force 在释放之后进行，
+     * 刷盘期间其他线程仍然可以追加记录，这些记录由下一次 sync 刷盘
+     */
+    public void sync() {
+        synchronized (flushLock) {
+            MappedByteBuffer current;
+            MappedByteBuffer previous;
+            synchronized (this) {
+                current = dirty ? segment : null;
+                previous = retired;
+                dirty = false;
+                retired = null;
+            }
+            if (previous != null) {
+                force(previous);
+            }
+            if (current != null) {
+                force(current);
+            }
+        }
+    }
+
+    // 单独成为一个方法，测试可以覆盖它来模拟很慢的刷盘
+    void force(MappedByteBuffer buffer) {
+        buffer.force();
+    }
+
+    private void roll() {
+        // 上一个分段交给下一次 sync 刷盘；两次 sync 之间换段多次时（分段很小）才在这里直接刷盘
+        if (retired != null) {
+            force(retired);
+        }
+        retired = dirty ? segment : null;
+        dirty = false;
+        segmentIndex++;
+        try {
+            segment = map(segmentFile(directory, segmentIndex), segmentSize);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to create journal segment " + segmentIndex, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        // 关闭之后不会再有新的记录，在锁外刷盘即可包含全部已写入的记录
+        sync();
+        flusher.interrupt();
+    }
+
+    /**
+     * 从指定位置开始按顺序重放日志中的所有记录
+     *
+     * @param directory    日志目录
+     * @param fromPosition 起始位置（见 position），0表示从头开始
+     * @param segmentSize  写入时使用的分段大小
+     * @param handler      接收记录的回调
+     * @return 重放结束的位置
+     */
+    public static long replay(File directory, long fromPosition, int segmentSize, RecordHandler handler)
+            throws IOException {
+        segmentSize = segmentSize / RECORD_SIZE * RECORD_SIZE;
+        long position = fromPosition;
+        for (int index : listSegments(directory)) {
+            long segmentStart = (long) index * segmentSize;
+            if (segmentStart + segmentSize <= fromPosition) {
+                continue;
+            }
+            MappedByteBuffer buffer = map(segmentFile(directory, index), segmentSize);
+            int offset = (int) Math.max(fromPosition - segmentStart, 0);
+            while (offset + RECORD_SIZE <= segmentSize) {
+                int type = buffer.getInt(offset + 16);
+                if (type == 0) {
+                    break;
+                }
+                handler.onRecord(buffer.getLong(offset), buffer.getLong(offset + 8), type,
+                        buffer.getInt(offset + 20), buffer.getInt(offset + 24), buffer.getInt(offset + 28));
+                offset += RECORD_SIZE;
+            }
+            position = segmentStart + offset;
+        }
+        return position;
+    }
+
+    /**
+     * 从指定位置开始按顺序重放日志中的所有记录，分段大小取自目录中已有的分段文件
+     */
+    public static long replay(File directory, long fromPosition, RecordHandler handler) throws IOException {
+        return replay(directory, fromPosition, segmentSizeOf(directory, listSegments(directory)), handler);
+    }
+
+    // 分段文件在创建时就被映射为完整的分段大小，因此文件长度就是写入时使用的分段大小
+    private static int segmentSizeOf(File directory, int[] segments) {
+        if (segments.length == 0) {
+            return DEFAULT_SEGMENT_SIZE;
+        }
+        long length = segmentFile(directory, segments[0]).length();
+        return length >= RECORD_SIZE && length <= Integer.MAX_VALUE
+                ? (int) (length / RECORD_SIZE * RECORD_SIZE) : DEFAULT_SEGMENT_SIZE;
+    }
+
+    private static MappedByteBuffer map(File file, int size) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    // 已写入的记录是连续的，二分查找第一条类型为0的记录
+    private static int findEnd(MappedByteBuffer buffer) {
+        int low = 0, high = buffer.capacity() / RECORD_SIZE;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getInt(mid * RECORD_SIZE + 16) != 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low * RECORD_SIZE;
+    }
+
+    private static File segmentFile(File directory, int index) {
+        return new File(directory, String.format("journal-%010d.seg", index));
+    }
+
+    private static int[] listSegments(File directory) {
+        String[] names = directory.list((dir, name) -> name.startsWith("journal-") && name.endsWith(".seg"));
+        if (names == null) {
+            return new int[0];
+        }
+        int[] indexes = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            indexes[i] = Integer.parseInt(names[i].substring(8, names[i].length() - 4));
+        }
+        Arrays.sort(indexes);
+        return indexes;
+    }
+}
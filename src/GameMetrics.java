@@ -0,0 +1,147 @@
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * 进程内的游戏指标：按结果分类的 processWord 计数，以及 processWord、startNewGame、字典加载和观察者通知的延迟直方图。
+ *
+ * 热路径上只有 LongAdder 累加和直方图记录，不分配对象也不加锁。结果计数是精确的；System.nanoTime 本身
+ * 就要几十纳秒，所以 processWord 和观察者通知的延迟按 1/LATENCY_SAMPLING 抽样计时
+ * （系统属性 weaver.metrics.latencySampling，2的幂，默认64，设为1时每次都计时）。
+ *
+ * 指标可以通过 dump 以纯文本输出，或者调用 registerMBean 后通过JMX（jconsole 等）查看。
+ */
+public final class GameMetrics implements GameMetricsMXBean {
+    static final String OBJECT_NAME = "weaver:type=GameMetrics";
+    static final int LATENCY_SAMPLING = Integer.highestOneBit(
+            Math.max(1, Integer.getInteger("weaver.metrics.latencySampling", 64)));
+    private static final int SAMPLE_MASK = LATENCY_SAMPLING - 1;
+
+    private static final GameEvent.Kind[] KINDS = GameEvent.Kind.values();
+    private static final LongAdder[] OUTCOMES = new LongAdder[KINDS.length];
+
+    static final LatencyHistogram PROCESS_WORD = new LatencyHistogram();
+    static final LatencyHistogram START_NEW_GAME = new LatencyHistogram();
+    static final LatencyHistogram DICTIONARY_LOAD = new LatencyHistogram();
+    static final LatencyHistogram OBSERVER_DISPATCH = new LatencyHistogram();
+
+    private static final String[] HISTOGRAM_NAMES = {
+            "processWord", "startNewGame", "dictionaryLoad", "observerDispatch"
+    };
+    private static final LatencyHistogram[] HISTOGRAMS = {
+            PROCESS_WORD, START_NEW_GAME, DICTIONARY_LOAD, OBSERVER_DISPATCH
+    };
+
+    private static final GameMetrics INSTANCE = new GameMetrics();
+    private static boolean registered;
+
+    static {
+        for (int i = 0; i < OUTCOMES.length; i++) {
+            OUTCOMES[i] = new LongAdder();
+        }
+    }
+
+    private GameMetrics() {
+    }
+
+    public static GameMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * 记录一次 processWord 的结果
+     *
+     * @param kind 结果对应的事件类型
+     */
+    static void countOutcome(GameEvent.Kind kind) {
+        OUTCOMES[kind.ordinal()].increment();
+    }
+
+    /**
+     * 决定这一次热路径调用是否计时
+     *
+     * @return 按抽样比例返回true
+     */
+    static boolean sampleLatency() {
+        return (ThreadLocalRandom.current().nextInt() & SAMPLE_MASK) == 0;
+    }
+
+    /**
+     * 把指标注册到平台 MBeanServer，重复调用只注册一次
+     */
+    public static synchronized void registerMBean() {
+        if (registered) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            registered = true;
+        } catch (JMException e) {
+            System.err.println("Unable to register metrics MBean: " + e.getMessage());
+        }
+    }
+
+    public long outcomeCount(GameEvent.Kind kind) {
+        return OUTCOMES[kind.ordinal()].sum();
+    }
+
+    @Override
+    public Map<String, Long> getOutcomeCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (GameEvent.Kind kind : KINDS) {
+            counts.put(kind.name(), outcomeCount(kind));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getLatencies() {
+        Map<String, Long> latencies = new LinkedHashMap<>();
+        for (int i = 0; i < HISTOGRAMS.length; i++) {
+            LatencyHistogram histogram = HISTOGRAMS[i];
+            String name = HISTOGRAM_NAMES[i];
+            latencies.put(name + ".count", histogram.count());
+            latencies.put(name + ".mean", Math.round(histogram.mean()));
+            latencies.put(name + ".p50", histogram.percentile(0.50));
+            latencies.put(name + ".p99", histogram.percentile(0.99));
+            latencies.put(name + ".p999", histogram.percentile(0.999));
+            latencies.put(name + ".max", histogram.max());
+        }
+        return latencies;
+    }
+
+    @Override
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        out.append("processWord outcomes:\n");
+        for (GameEvent.Kind kind : KINDS) {
+            out.append(String.format("  %-26s %12d%n", kind.name(), outcomeCount(kind)));
+        }
+        out.append(String.format("latency (ns, processWord/observerDispatch sampled 1/%d)%n", LATENCY_SAMPLING));
+        out.append(String.format("%31s %10s %10s %10s %10s %12s%n",
+                "count", "mean", "p50", "p99", "p999", "max"));
+        for (int i = 0; i < HISTOGRAMS.length; i++) {
+            LatencyHistogram histogram = HISTOGRAMS[i];
+            out.append(String.format("  %-18s %10d %10.0f %10d %10d %10d %12d%n", HISTOGRAM_NAMES[i],
+                    histogram.count(), histogram.mean(), histogram.percentile(0.50), histogram.percentile(0.99),
+                    histogram.percentile(0.999), histogram.max()));
+        }
+        return out.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder outcome : OUTCOMES) {
+            outcome.reset();
+        }
+        for (LatencyHistogram histogram : HISTOGRAMS) {
+            histogram.reset();
+        }
+    }
+}
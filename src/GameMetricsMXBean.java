@@ -0,0 +1,26 @@
+import java.util.Map;
+
+/**
+ * GameMetrics 的JMX管理接口，注册名为 weaver:type=GameMetrics
+ */
+public interface GameMetricsMXBean {
+    /**
+     * @return 按结果分类的 processWord 次数，例如 FEEDBACK、GAME_WON、ERROR_NOT_IN_DICTIONARY
+     */
+    Map<String, Long> getOutcomeCounts();
+
+    /**
+     * @return 各个延迟直方图的次数、平均值和百分位数（纳秒），键形如 processWord.p99
+     */
+    Map<String, Long> getLatencies();
+
+    /**
+     * @return 纯文本格式的全部指标
+     */
+    String dump();
+
+    /**
+     * 清空所有计数和直方图
+     */
+    void reset();
+}
@@ -0,0 +1,11 @@
+/**
+ * 游戏观察者接口，用于接收游戏状态更新
+ */
+interface GameObserver {
+    /**
+     * 当游戏状态更新时被调用
+     * 
+     * @param message 更新消息
+     */
+    void onGameUpdate(String message);
+}
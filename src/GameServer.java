@@ -0,0 +1,144 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 基于TCP文本行协议的游戏服务器，命令与命令行版本相同，每个连接对应 SessionEngine 中的一个会话。
+ *
+ * 协议（每行以换行结束）：
+ * 连接建立和重新开始后，服务器发送 "Start word: xxxx" 和 "Target word: xxxx" 两行；
+ * 客户端发送一个单词，服务器回复一行处理结果（"Feedback: GXXG"、"Game Won!" 或 "Error: ..."）；
+ * 客户端发送 "restart"，服务器回复 "=== Game Restarted ===" 以及新的起始和目标单词；
+ * 客户端断开连接时会话被关闭（"quit" 本身是字典中的单词，因此没有退出命令）。
+ * 一行最多 MAX_LINE_BYTES 字节，超过时服务器回复 "Error: Line too long" 并关闭连接。
+ *
+ * 每个连接在单独的线程上阻塞读写，JDK支持时使用虚拟线程，大量空闲连接几乎不占资源。
+ */
+public class GameServer {
+    /** 一行命令的最大字节数（不含换行），单词和 restart 都远小于它 */
+    static final int MAX_LINE_BYTES = 64;
+    private static final int LINE_TOO_LONG = -2;
+
+    private final SessionEngine engine;
+    private final ExecutorService connections;
+    private ServerSocket serverSocket;
+    private Thread acceptThread;
+
+    public GameServer(SessionEngine engine) {
+        this.engine = engine;
+        this.connections = VirtualThreads.newPerTaskExecutor();
+    }
+
+    /**
+     * 开始在指定端口上监听
+     *
+     * @param port 端口，0表示由系统分配
+     * @return 实际监听的端口
+     */
+    public int start(int port) throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(port), 4096);
+        acceptThread = new Thread(this::acceptLoop, "weaver-accept");
+        acceptThread.start();
+        return serverSocket.getLocalPort();
+    }
+
+    public void stop() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    public int getSessionCount() {
+        return engine.size();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> handle(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Accept error: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        long sessionId = engine.createSession();
+        try (Socket s = socket;
+                InputStream in = new BufferedInputStream(s.getInputStream());
+                Writer out = new BufferedWriter(
+                        new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8))) {
+            s.setTcpNoDelay(true);
+            writeGameStart(out, sessionId);
+            out.flush();
+
+            byte[] line = new byte[MAX_LINE_BYTES];
+            int length;
+            while ((length = readLine(in, line)) >= 0) {
+                String command = new String(line, 0, length, StandardCharsets.UTF_8).trim();
+                if (command.equals("restart")) {
+                    engine.restart(sessionId);
+                    writeLine(out, "=== Game Restarted ===");
+                    writeGameStart(out, sessionId);
+                } else {
+                    writeLine(out, engine.submit(sessionId, command));
+                }
+                out.flush();
+            }
+            if (length == LINE_TOO_LONG) {
+                writeLine(out, "Error: Line too long");
+                out.flush();
+            }
+        } catch (IOException e) {
+            // 客户端断开连接，直接关闭会话
+        } catch (RuntimeException e) {
+            System.err.println("Connection error: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            engine.closeSession(sessionId);
+        }
+    }
+
+    /**
+     * 读取一行到 buffer 中，不会为过长的行分配更多内存
+     *
+     * @return 行的字节数（不含换行）；连接结束时返回-1；超过 buffer 长度时返回 LINE_TOO_LONG
+     */
+    private static int readLine(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                return length > 0 ? length : -1;
+            }
+            if (length == buffer.length) {
+                return LINE_TOO_LONG;
+            }
+            buffer[length++] = (byte) b;
+        }
+        return length;
+    }
+
+    private void writeGameStart(Writer out, long sessionId) throws IOException {
+        IModel session = engine.getSession(sessionId);
+        writeLine(out, "Start word: " + session.getStartWord());
+        writeLine(out, "Target word: " + session.getTargetWord());
+    }
+
+    private static void writeLine(Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+    }
+}
@@ -0,0 +1,24 @@
+import java.util.List;
+
+/**
+ * 单词阶梯求解器接口，用于计算两个单词之间的最短变换路径
+ */
+public interface ILadderSolver {
+    /**
+     * 计算从起始单词到目标单词的最短路径
+     * 
+     * @param from 起始单词
+     * @param to   目标单词
+     * @return 包含起始单词和目标单词的最短路径；如果无法到达或单词不在字典中返回空列表
+     */
+    List<String> shortestPath(String from, String to);
+
+    /**
+     * 计算从起始单词到目标单词最少需要几步
+     * 
+     * @param from 起始单词
+     * @param to   目标单词
+     * @return 最少步数；如果无法到达或单词不在字典中返回-1
+     */
+    int distance(String from, String to);
+}
@@ -54,6 +54,20 @@ public interface IModel {
      */
     void removeGameObserver(GameObserver observer);
 
+    /**
+     * 添加类型化的游戏事件监听器，与字符串观察者收到相同的更新，但不需要解析消息
+     * 
+     * @param listener 要添加的监听器
+     */
+    void addGameEventListener(GameEventListener listener);
+
+    /**
+     * 移除游戏事件监听器
+     * 
+     * @param listener 要移除的监听器
+     */
+    void removeGameEventListener(GameEventListener listener);
+
     /**
      * 通知所有观察者游戏状态更新
      * 
@@ -67,16 +81,18 @@ public interface IModel {
      * @return 尝试次数
      */
     int getAttempts();
-}
 
-/**
- * 游戏观察者接口，用于接收游戏状态更新
- */
-interface GameObserver {
     /**
-     * 当游戏状态更新时被调用
+     * 获取提示：从最后一个有效单词出发，沿最短路径走向目标单词的下一个单词
      * 
-     * @param message 更新消息
+     * @return 下一个最优单词；游戏已经结束或无法到达目标时返回null
+     */
+    String getHint();
+
+    /**
+     * 获取本局的单词长度
+     * 
+     * @return 单词长度
      */
-    void onGameUpdate(String message);
+    int getWordLength();
 }
@@ -0,0 +1,189 @@
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 基于双向广度优先搜索的单词阶梯求解器。
+ *
+ * 两端各维护一个原始int数组队列和一个 BitSet 访问标记，每次扩展较小的一侧的一整层，
+ * 在该层中取两侧相遇点的最小总距离，保证结果最短。
+ */
+public class LadderSolver implements ILadderSolver {
+    private final WordIndex dictionary;
+    private final WordGraph graph;
+
+    public LadderSolver(WordIndex dictionary) {
+        this.dictionary = dictionary;
+        this.graph = dictionary.graph();
+    }
+
+    @Override
+    public List<String> shortestPath(String from, String to) {
+        int fromId = dictionary.indexOf(from);
+        int toId = dictionary.indexOf(to);
+        if (fromId == -1 || toId == -1) {
+            return Collections.emptyList();
+        }
+        int[] path = shortestPath(fromId, toId);
+        if (path == null) {
+            return Collections.emptyList();
+        }
+        List<String> words = new ArrayList<>(path.length);
+        for (int id : path) {
+            words.add(dictionary.wordAt(id));
+        }
+        return words;
+    }
+
+    @Override
+    public int distance(String from, String to) {
+        return distance(dictionary.indexOf(from), dictionary.indexOf(to));
+    }
+
+    /**
+     * 按单词id计算最少步数
+     *
+     * @return 最少步数；无法到达时返回-1
+     */
+    public int distance(int fromId, int toId) {
+        if (!isValidId(fromId) || !isValidId(toId)) {
+            return -1;
+        }
+        Search search = new Search(graph.nodeCount());
+        return search.run(fromId, toId) == -1 ? -1 : search.bestLength;
+    }
+
+    /**
+     * 按单词id计算最短路径
+     *
+     * @return 路径上的单词id（包含两端）；无法到达时返回null
+     */
+    public int[] shortestPath(int fromId, int toId) {
+        if (!isValidId(fromId) || !isValidId(toId)) {
+            return null;
+        }
+        Search search = new Search(graph.nodeCount());
+        int meet = search.run(fromId, toId);
+        if (meet == -1) {
+            return null;
+        }
+        int[] path = new int[search.bestLength + 1];
+        int forwardSteps = search.distForward[meet];
+        for (int i = forwardSteps, node = meet; i >= 0; i--) {
+            path[i] = node;
+            node = search.parentForward[node];
+        }
+        for (int i = forwardSteps, node = meet; i < path.length; i++) {
+            path[i] = node;
+            node = search.parentBackward[node];
+        }
+        return path;
+    }
+
+    // indexOf 找不到单词时返回-1，其它越界的id同样视为无法到达
+    private boolean isValidId(int id) {
+        return id >= 0 && id < graph.nodeCount();
+    }
+
+    /**
+     * 一次搜索使用的临时状态
+     */
+    private final class Search {
+        final int[] queueForward;
+        final int[] queueBackward;
+        final int[] parentForward;
+        final int[] parentBackward;
+        final int[] distForward;
+        final int[] distBackward;
+        final BitSet visitedForward;
+        final BitSet visitedBackward;
+        int bestLength;
+        // expandLevel 扩展完一层后队列的新尾部
+        int lastTail;
+
+        Search(int n) {
+            queueForward = new int[n];
+            queueBackward = new int[n];
+            parentForward = new int[n];
+            parentBackward = new int[n];
+            distForward = new int[n];
+            distBackward = new int[n];
+            visitedForward = new BitSet(n);
+            visitedBackward = new BitSet(n);
+        }
+
+        /**
+         * @return 最短路径上两侧的相遇节点，无法到达时返回-1
+         */
+        int run(int from, int to) {
+            bestLength = 0;
+            if (from == to) {
+                distForward[from] = 0;
+                parentForward[from] = -1;
+                parentBackward[from] = -1;
+                return from;
+            }
+            queueForward[0] = from;
+            queueBackward[0] = to;
+            visitedForward.set(from);
+            visitedBackward.set(to);
+            parentForward[from] = -1;
+            parentBackward[to] = -1;
+            distForward[from] = 0;
+            distBackward[to] = 0;
+            int headF = 0, tailF = 1, headB = 0, tailB = 1;
+
+            while (headF < tailF && headB < tailB) {
+                boolean forward = tailF - headF <= tailB - headB;
+                int meet;
+                if (forward) {
+                    meet = expandLevel(queueForward, headF, tailF, parentForward, distForward,
+                            visitedForward, visitedBackward, distBackward);
+                    int end = tailF;
+                    tailF = lastTail;
+                    headF = end;
+                } else {
+                    meet = expandLevel(queueBackward, headB, tailB, parentBackward, distBackward,
+                            visitedBackward, visitedForward, distForward);
+                    int end = tailB;
+                    tailB = lastTail;
+                    headB = end;
+                }
+                if (meet != -1) {
+                    return meet;
+                }
+            }
+            return -1;
+        }
+
+        private int expandLevel(int[] queue, int head, int tail, int[] parent, int[] dist,
+                BitSet visited, BitSet otherVisited, int[] otherDist) {
+            int meet = -1;
+            int best = Integer.MAX_VALUE;
+            int newTail = tail;
+            for (int q = head; q < tail; q++) {
+                int u = queue[q];
+                for (int p = graph.rowStart(u), end = graph.rowEnd(u); p < end; p++) {
+                    int v = graph.neighborAt(p);
+                    if (visited.get(v)) {
+                        continue;
+                    }
+                    visited.set(v);
+                    parent[v] = u;
+                    dist[v] = dist[u] + 1;
+                    queue[newTail++] = v;
+                    if (otherVisited.get(v) && dist[v] + otherDist[v] < best) {
+                        best = dist[v] + otherDist[v];
+                        meet = v;
+                    }
+                }
+            }
+            lastTail = newTail;
+            if (meet != -1) {
+                bestLength = best;
+            }
+            return meet;
+        }
+    }
+}
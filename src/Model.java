@@ -1,84 +1,200 @@
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
 import java.util.*;
 
 public class Model implements IModel {
-    private List<String> validWords;
+    private WordIndex validWords;
     private String startWord;
     private String targetWord;
+    private int parDistance;
     private String lastValidWord;
+    // 单词字段对应的id，-1 表示还没有解析
+    private int lastValidWordId = -1;
+    private int targetWordId = -1;
     private boolean gameWon;
     private int attempts;
-    private static final int WORD_LENGTH = 4;
+    private final int wordLength;
+    // 到本局目标单词的距离场，第一次请求提示时从共享缓存中取得
+    private DistanceField hintField;
+    private static final GameObserver[] NO_OBSERVERS = new GameObserver[0];
+    private static final GameEventListener[] NO_LISTENERS = new GameEventListener[0];
     private boolean isCLI;
-    private List<GameObserver> observers;
+    // 写时复制的观察者数组，通知时遍历快照，注册和移除可以与通知并发进行
+    private volatile GameObserver[] observers;
+    private volatile GameEventListener[] eventListeners;
+    private PuzzleSource puzzleSource;
+    private String lastMessage;
 
     public Model(boolean isCLI) {
+        this(isCLI, null);
+    }
+
+    /**
+     * 使用指定单词长度的字典分片开始游戏
+     *
+     * @param isCLI      是否为命令行模式
+     * @param wordLength 单词长度（3到8）
+     */
+    public Model(boolean isCLI, int wordLength) {
+        this(isCLI, DictionaryRegistry.get(wordLength), null, null);
+    }
+
+    /**
+     * @param isCLI        是否为命令行模式
+     * @param puzzleSource 题目来源，为null时优先使用预计算的题目池，没有题目池时使用题目生成器
+     */
+    public Model(boolean isCLI, PuzzleSource puzzleSource) {
+        this(isCLI, puzzleSource, null);
+    }
+
+    /**
+     * 从指定题目开始游戏，用于从日志或快照恢复会话
+     *
+     * @param initialPuzzle 第一局的题目，为null时从题目来源中选择
+     */
+    Model(boolean isCLI, PuzzleSource puzzleSource, Puzzle initialPuzzle) {
+        this(isCLI, DictionaryRegistry.get(), puzzleSource, initialPuzzle);
+    }
+
+    /**
+     * 使用指定的字典开始游戏，题目中的单词id属于该字典，用于批量回放等不使用共享字典分片的场合
+     *
+     * @param dictionary    字典
+     * @param initialPuzzle 第一局的题目，为null时从题目来源中选择
+     */
+    Model(boolean isCLI, WordIndex dictionary, PuzzleSource puzzleSource, Puzzle initialPuzzle) {
         this.isCLI = isCLI;
-        this.validWords = loadDictionary();
-        this.observers = new ArrayList<>();
-        if (validWords.isEmpty()) {
-            throw new IllegalStateException("Dictionary failed to load or is empty");
+        this.wordLength = dictionary.getWordLength();
+        this.validWords = dictionary;
+        this.observers = NO_OBSERVERS;
+        this.eventListeners = NO_LISTENERS;
+        if (validWords.size() == 0) {
+            throw new IllegalStateException("Dictionary has no " + wordLength + "-letter words");
         }
+        this.puzzleSource = puzzleSource != null ? puzzleSource : defaultPuzzleSource(validWords);
         this.gameWon = false;
         this.attempts = 0;
-        selectWords();
+        if (initialPuzzle != null) {
+            startPuzzle(initialPuzzle);
+        } else {
+            selectWords();
+        }
         lastValidWord = startWord;
     }
 
     @Override
-    public void addGameObserver(GameObserver observer) {
-        if (!observers.contains(observer)) {
-            observers.add(observer);
+    public synchronized void addGameObserver(GameObserver observer) {
+        if (indexOfObserver(observer) == -1) {
+            GameObserver[] updated = Arrays.copyOf(observers, observers.length + 1);
+            updated[observers.length] = observer;
+            observers = updated;
         }
     }
 
-    @Override
-    public void removeGameObserver(GameObserver observer) {
-        observers.remove(observer);
+    /**
+     * 添加异步观察者，消息在后台线程上投递，不会阻塞 processWord
+     *
+     * @param observer 要添加的观察者
+     * @param policy   观察者的队列满时的背压策略
+     */
+    public void addAsyncGameObserver(GameObserver observer, AsyncGameObserver.BackpressurePolicy policy) {
+        addGameObserver(new AsyncGameObserver(observer, policy));
     }
 
     @Override
-    public void notifyGameObservers(String message) {
-        for (GameObserver observer : observers) {
-            observer.onGameUpdate(message);
+    public synchronized void removeGameObserver(GameObserver observer) {
+        int index = indexOfObserver(observer);
+        if (index != -1) {
+            GameObserver[] updated = new GameObserver[observers.length - 1];
+            System.arraycopy(observers, 0, updated, 0, index);
+            System.arraycopy(observers, index + 1, updated, index, updated.length - index);
+            observers = updated;
         }
     }
 
-    private List<String> loadDictionary() {
-        List<String> dictionary = new ArrayList<>();
-        String path = "dictionary.txt";
-        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim().toLowerCase();
-                if (line.length() == WORD_LENGTH && line.matches("[a-z]+")) {
-                    dictionary.add(line);
-                }
+    // 异步观察者按其包装的观察者匹配，这样 removeGameObserver 可以直接传入原观察者
+    private int indexOfObserver(GameObserver observer) {
+        for (int i = 0; i < observers.length; i++) {
+            GameObserver o = observers[i];
+            if (o.equals(observer)
+                    || (o instanceof AsyncGameObserver && ((AsyncGameObserver) o).getDelegate().equals(observer))) {
+                return i;
             }
-        } catch (IOException e) {
-            if (isCLI) {
-                System.err.println("Unable to load dictionary file: " + path);
-            }
-            e.printStackTrace();
         }
-        return dictionary;
+        return -1;
+    }
+
+    @Override
+    public synchronized void addGameEventListener(GameEventListener listener) {
+        if (!Arrays.asList(eventListeners).contains(listener)) {
+            GameEventListener[] updated = Arrays.copyOf(eventListeners, eventListeners.length + 1);
+            updated[eventListeners.length] = listener;
+            eventListeners = updated;
+        }
+    }
+
+    @Override
+    public synchronized void removeGameEventListener(GameEventListener listener) {
+        int index = Arrays.asList(eventListeners).indexOf(listener);
+        if (index != -1) {
+            GameEventListener[] updated = new GameEventListener[eventListeners.length - 1];
+            System.arraycopy(eventListeners, 0, updated, 0, index);
+            System.arraycopy(eventListeners, index + 1, updated, index, updated.length - index);
+            eventListeners = updated;
+        }
+    }
+
+    @Override
+    public void notifyGameObservers(String message) {
+        GameObserver[] snapshot = observers;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i].onGameUpdate(message);
+        }
+    }
+
+    /**
+     * 在当前Model上开始新的一局，重新选择题目并重置状态，观察者保持不变
+     */
+    void newGame() {
+        selectWords();
+    }
+
+    private static PuzzleSource defaultPuzzleSource(WordIndex dictionary) {
+        // 预计算的题目池只针对默认长度的字典，题目池在默认难度区间内没有题目时同样回退到生成器
+        PuzzlePool pool = dictionary.getWordLength() == DictionaryRegistry.DEFAULT_WORD_LENGTH
+                ? PuzzlePool.shared(dictionary) : null;
+        PuzzleSource source = pool != null ? pool.defaultSource() : null;
+        return source != null ? source : PuzzleGenerator.defaultFor(dictionary);
     }
 
     private void selectWords() {
         Random rand = new Random();
-        startWord = validWords.get(rand.nextInt(validWords.size()));
-        do {
-            targetWord = validWords.get(rand.nextInt(validWords.size()));
-        } while (targetWord.equals(startWord));
+        // 题目来源保证目标单词可以从起始单词到达
+        startPuzzle(puzzleSource.next(rand));
+    }
+
+    void startPuzzle(Puzzle puzzle) {
+        startWord = validWords.wordAt(puzzle.getStartId());
+        targetWord = validWords.wordAt(puzzle.getTargetId());
+        parDistance = puzzle.getDistance();
+        targetWordId = puzzle.getTargetId();
+        hintField = null;
 
         // Reset game state
         lastValidWord = startWord;
+        lastValidWordId = puzzle.getStartId();
         gameWon = false;
         attempts = 0;
     }
 
+    /**
+     * 恢复快照中保存的游戏进度，题目已经由构造函数设置
+     */
+    void restoreState(int lastValidWordId, int attempts, boolean gameWon) {
+        this.lastValidWord = validWords.wordAt(lastValidWordId);
+        this.lastValidWordId = lastValidWordId;
+        this.attempts = attempts;
+        this.gameWon = gameWon;
+    }
+
     @Override
     public boolean isOneLetterDifferent(String word1, String word2) {
         if (word1 == null || word2 == null || word1.length() != word2.length()) {
@@ -98,79 +214,157 @@ public class Model implements IModel {
 
     @Override
     public boolean isValidWord(String word) {
-        return word != null &&
-                word.length() == WORD_LENGTH &&
-                word.matches("[a-z]+") &&
-                validWords.contains(word.toLowerCase());
+        // 打包时已经检查了长度和 a-z 字符，不需要再做正则匹配
+        return validWords.contains(word);
     }
 
     @Override
     public void processWord(String input) {
+        if (GameMetrics.sampleLatency()) {
+            long start = System.nanoTime();
+            handleWord(input);
+            GameMetrics.PROCESS_WORD.record(System.nanoTime() - start);
+        } else {
+            handleWord(input);
+        }
+    }
+
+    private void handleWord(String input) {
+        // 整个处理过程不分配对象：不做 toLowerCase/trim/正则匹配，直接在原字符串上检查并打包成键
         if (gameWon) {
-            notifyWithMessage("Game already over. You won!");
+            notifyEvent(GameEvent.GAME_ALREADY_OVER, -1);
             return;
         }
 
-        // Basic validation
-        if (input == null || input.isEmpty()) {
-            notifyWithMessage("Error: Please enter a word");
+        // 快速路径：只解析一次单词id，再在上一个单词的邻接行中二分查找，合法的一步只需要这两次查询
+        int id = resolveWordId(input);
+        if (id == -1 || !validWords.graph().isAdjacent(lastValidWordId(), id)) {
+            rejectWord(input, id);
             return;
         }
 
-        input = input.toLowerCase().trim();
+        attempts++;
+        lastValidWord = validWords.wordAt(id);
+        lastValidWordId = id;
 
-        if (input.length() != WORD_LENGTH) {
-            notifyWithMessage("Error: Word must be 4 letters");
+        // Check if won
+        if (id == targetWordId()) {
+            gameWon = true;
+            notifyEvent(GameEvent.GAME_WON, id);
             return;
         }
 
-        if (!input.matches("[a-z]+")) {
-            notifyWithMessage("Error: Only lowercase letters allowed");
-            return;
+        // Generate feedback
+        int feedback = Feedback.compute(lastValidWord, targetWord);
+        notifyEvent(GameEvent.feedback(feedback, wordLength), id);
+    }
+
+    /**
+     * 去掉首尾空白、折叠大小写并打包成键，然后查找单词id
+     *
+     * @return 单词id；输入为空、长度不符、含有非字母字符或不在字典中时返回-1
+     */
+    private int resolveWordId(String input) {
+        if (input == null) {
+            return -1;
+        }
+        int begin = 0;
+        int end = input.length();
+        while (begin < end && input.charAt(begin) <= ' ') {
+            begin++;
+        }
+        while (end > begin && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - begin != wordLength) {
+            return -1;
         }
 
-        // Dictionary validation
-        if (!isValidWord(input)) {
-            notifyWithMessage("Error: Word not in dictionary");
-            return;
+        long key = 0;
+        for (int i = begin; i < end; i++) {
+            char c = input.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            } else if (c < 'a' || c > 'z') {
+                return -1;
+            }
+            key = (key << WordIndex.BITS_PER_LETTER) | (c - 'a' + 1);
         }
+        return validWords.indexOfKey(key);
+    }
 
-        // Check if only one letter is different
-        if (!isOneLetterDifferent(input, lastValidWord)) {
-            notifyWithMessage("Error: Only one letter can be changed at a time");
+    /**
+     * 慢速路径：只有输入被拒绝时才重新检查，找出具体的错误原因
+     *
+     * @param id 快速路径解析出的单词id，不在字典中时为-1
+     */
+    private void rejectWord(String input, int id) {
+        if (id != -1) {
+            // 在字典中但与上一个单词不相邻
+            notifyEvent(GameEvent.ERROR_NOT_ONE_LETTER, id);
             return;
         }
 
-        attempts++;
-        lastValidWord = input;
-
-        // Check if won
-        if (input.equals(targetWord)) {
-            gameWon = true;
-            notifyWithMessage("Game Won!");
+        // Basic validation
+        if (input == null || input.isEmpty()) {
+            notifyEvent(GameEvent.ERROR_EMPTY, -1);
             return;
         }
 
-        // Generate feedback
-        String feedback = generateFeedback(input);
-        notifyWithMessage("Feedback: " + feedback);
+        int begin = 0;
+        int end = input.length();
+        while (begin < end && input.charAt(begin) <= ' ') {
+            begin++;
+        }
+        while (end > begin && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - begin != wordLength) {
+            notifyEvent(GameEvent.lengthError(wordLength), -1);
+            return;
+        }
+        for (int i = begin; i < end; i++) {
+            char c = input.charAt(i);
+            if ((c < 'a' || c > 'z') && (c < 'A' || c > 'Z')) {
+                notifyEvent(GameEvent.ERROR_CHARACTERS, -1);
+                return;
+            }
+        }
+        notifyEvent(GameEvent.ERROR_NOT_IN_DICTIONARY, -1);
     }
 
-    private String generateFeedback(String input) {
-        StringBuilder feedback = new StringBuilder();
-        char[] targetChars = targetWord.toCharArray();
-        char[] inputChars = input.toCharArray();
+    // 缓存的id用字典中的规范字符串按引用校验，单词字段被直接替换时重新查找
+    private int lastValidWordId() {
+        int id = lastValidWordId;
+        if (id < 0 || validWords.wordAt(id) != lastValidWord) {
+            id = validWords.indexOf(lastValidWord);
+            lastValidWordId = id;
+        }
+        return id;
+    }
 
-        // 检查每个字母的匹配情况
-        for (int i = 0; i < WORD_LENGTH; i++) {
-            if (inputChars[i] == targetChars[i]) {
-                feedback.append("G"); // 字母正确且位置正确
-            } else {
-                feedback.append("X"); // 字母不匹配或位置不正确
-            }
+    private int targetWordId() {
+        int id = targetWordId;
+        if (id < 0 || validWords.wordAt(id) != targetWord) {
+            id = validWords.indexOf(targetWord);
+            targetWordId = id;
         }
+        return id;
+    }
 
-        return feedback.toString();
+    @Override
+    public String getHint() {
+        if (gameWon) {
+            return null;
+        }
+        int target = targetWordId();
+        DistanceField field = hintField;
+        if (field == null || field.getTarget() != target) {
+            field = DistanceFieldCache.defaultFor(validWords).get(target);
+            hintField = field;
+        }
+        int next = field.nextStep(validWords.graph(), lastValidWordId());
+        return next == -1 ? null : validWords.wordAt(next);
     }
 
     @Override
@@ -183,15 +377,53 @@ public class Model implements IModel {
         return targetWord;
     }
 
+    /**
+     * 获取本局的标准步数，即起始单词到目标单词的最短步数
+     *
+     * @return 标准步数
+     */
+    public int getParDistance() {
+        return parDistance;
+    }
+
     public int getAttempts() {
         return attempts;
     }
 
+    @Override
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    /**
+     * 获取最近一次发给观察者的消息，没有注册观察者时（例如服务器会话）用它取得处理结果
+     *
+     * @return 最近一次的消息，还没有处理过输入时返回null
+     */
+    public String getLastMessage() {
+        return lastMessage;
+    }
+
+    int getStartWordId() {
+        return validWords.indexOf(startWord);
+    }
+
+    int getTargetWordId() {
+        return targetWordId();
+    }
+
+    int getLastValidWordId() {
+        return lastValidWordId();
+    }
+
     public boolean isGameWon() {
         return gameWon;
     }
 
-    private void notifyWithMessage(String message) {
+    private void notifyEvent(GameEvent event, int wordId) {
+        GameMetrics.countOutcome(event.getKind());
+        String message = event.getMessage();
+        lastMessage = message;
         if (isCLI) {
             if (message.startsWith("Error:")) {
                 System.err.println(message);
@@ -199,6 +431,28 @@ public class Model implements IModel {
                 System.out.println(message);
             }
         }
-        notifyGameObservers(message);
+        GameObserver[] observerSnapshot = observers;
+        GameEventListener[] snapshot = eventListeners;
+        if (observerSnapshot.length == 0 && snapshot.length == 0) {
+            // 没有观察者时（例如服务器会话）不计时
+            return;
+        }
+        if (GameMetrics.sampleLatency()) {
+            long start = System.nanoTime();
+            dispatch(observerSnapshot, snapshot, event, wordId);
+            GameMetrics.OBSERVER_DISPATCH.record(System.nanoTime() - start);
+        } else {
+            dispatch(observerSnapshot, snapshot, event, wordId);
+        }
+    }
+
+    private void dispatch(GameObserver[] observerSnapshot, GameEventListener[] snapshot, GameEvent event, int wordId) {
+        String message = event.getMessage();
+        for (int i = 0; i < observerSnapshot.length; i++) {
+            observerSnapshot[i].onGameUpdate(message);
+        }
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i].onGameEvent(event, wordId, attempts);
+        }
     }
 }
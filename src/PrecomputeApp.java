@@ -0,0 +1,36 @@
+import java.io.File;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 离线预计算入口：计算全对步数表，并生成按难度分桶的题目池文件 puzzles.bin
+ *
+ * 用法：java PrecomputeApp [每个难度的题目数上限]
+ */
+public class PrecomputeApp {
+    public static void main(String[] args) {
+        try {
+            int maxPerDistance = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+            WordIndex dictionary = DictionaryRegistry.get();
+            if (dictionary.size() == 0) {
+                throw new IllegalStateException("Dictionary failed to load or is empty");
+            }
+
+            long start = System.nanoTime();
+            DistanceTable table = DistanceTable.compute(dictionary.graph(), ForkJoinPool.commonPool());
+            System.out.printf("Computed %d x %d distances in %d ms%n", table.size(), table.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+
+            PuzzlePool pool = PuzzlePool.fromTable(table, maxPerDistance, new Random());
+            File file = new File(PuzzlePool.DEFAULT_PATH);
+            pool.write(file, dictionary);
+            for (int d = 1; d <= pool.maxDistance(); d++) {
+                System.out.printf("Distance %2d: %d puzzles%n", d, pool.count(d));
+            }
+            System.out.println("Puzzle pool written to " + file.getPath());
+        } catch (Exception e) {
+            System.err.println("Precompute error: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
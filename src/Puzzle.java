@@ -0,0 +1,29 @@
+/**
+ * 一局游戏的题目：起始单词、目标单词以及两者之间的最短步数
+ */
+public final class Puzzle {
+    private final int startId;
+    private final int targetId;
+    private final int distance;
+
+    public Puzzle(int startId, int targetId, int distance) {
+        this.startId = startId;
+        this.targetId = targetId;
+        this.distance = distance;
+    }
+
+    public int getStartId() {
+        return startId;
+    }
+
+    public int getTargetId() {
+        return targetId;
+    }
+
+    /**
+     * @return 起始单词到目标单词的最短步数（标准步数）
+     */
+    public int getDistance() {
+        return distance;
+    }
+}
@@ -0,0 +1,118 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 保证可解的题目生成器，目标单词与起始单词之间的最短步数落在给定区间内（例如4到7步）。
+ *
+ * 起始单词只从足够大的连通分量中选取；选定起点后做一次按层的广度优先搜索，
+ * 同一层的节点在队列中是连续的，因此可以直接在 [minDistance, maxDistance] 对应的队列区间中随机取目标，
+ * 不需要对每个候选单词求解。重试次数有上限，超过后退回到最接近区间的可达单词。
+ */
+public class PuzzleGenerator implements PuzzleSource {
+    static final int DEFAULT_MIN_DISTANCE = 4;
+    static final int DEFAULT_MAX_DISTANCE = 7;
+    private static final int MAX_ATTEMPTS = 32;
+
+    // 每种单词长度一个默认生成器
+    private static final AtomicReferenceArray<PuzzleGenerator> defaultGenerators =
+            new AtomicReferenceArray<>(WordIndex.MAX_WORD_LENGTH + 1);
+
+    private final WordGraph graph;
+    private final int minDistance;
+    private final int maxDistance;
+    // 所在连通分量至少有 minDistance + 1 个单词的起点候选
+    private final int[] candidates;
+
+    public PuzzleGenerator(WordIndex dictionary, int minDistance, int maxDistance) {
+        if (minDistance < 1 || maxDistance < minDistance) {
+            throw new IllegalArgumentException("Invalid distance band: " + minDistance + "-" + maxDistance);
+        }
+        this.graph = dictionary.graph();
+        this.minDistance = minDistance;
+        this.maxDistance = maxDistance;
+
+        int n = graph.nodeCount();
+        int[] eligible = new int[n];
+        int count = 0;
+        for (int id = 0; id < n; id++) {
+            if (graph.componentSize(id) > minDistance) {
+                eligible[count++] = id;
+            }
+        }
+        if (count == 0) {
+            // 区间太大时退而求其次，至少保证起点有邻居
+            for (int id = 0; id < n; id++) {
+                if (graph.degree(id) > 0) {
+                    eligible[count++] = id;
+                }
+            }
+        }
+        if (count == 0) {
+            throw new IllegalStateException("Dictionary contains no solvable word pairs");
+        }
+        this.candidates = Arrays.copyOf(eligible, count);
+    }
+
+    /**
+     * 获取使用默认步数区间的生成器，同一长度的字典不变时复用同一个实例
+     *
+     * @param dictionary 字典
+     * @return 生成器
+     */
+    public static PuzzleGenerator defaultFor(WordIndex dictionary) {
+        int length = dictionary.getWordLength();
+        PuzzleGenerator generator = defaultGenerators.get(length);
+        if (generator == null || generator.graph != dictionary.graph()) {
+            generator = new PuzzleGenerator(dictionary, DEFAULT_MIN_DISTANCE, DEFAULT_MAX_DISTANCE);
+            defaultGenerators.set(length, generator);
+        }
+        return generator;
+    }
+
+    @Override
+    public Puzzle next(Random random) {
+        int n = graph.nodeCount();
+        int[] queue = new int[n];
+        int[] dist = new int[n];
+        int fallbackStart = -1, fallbackTarget = -1, fallbackDistance = 0;
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int start = candidates[random.nextInt(candidates.length)];
+            Arrays.fill(dist, -1);
+            dist[start] = 0;
+            queue[0] = start;
+            int head = 0, tail = 1;
+            int bandStart = -1;
+            while (head < tail) {
+                int u = queue[head++];
+                int d = dist[u] + 1;
+                if (d > maxDistance) {
+                    break;
+                }
+                for (int p = graph.rowStart(u), end = graph.rowEnd(u); p < end; p++) {
+                    int v = graph.neighborAt(p);
+                    if (dist[v] == -1) {
+                        dist[v] = d;
+                        if (d == minDistance && bandStart == -1) {
+                            bandStart = tail;
+                        }
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            if (bandStart != -1) {
+                int target = queue[bandStart + random.nextInt(tail - bandStart)];
+                return new Puzzle(start, target, dist[target]);
+            }
+            // 该起点在区间内没有可达单词，记录最远的可达单词作为后备
+            int farthest = queue[tail - 1];
+            if (dist[farthest] > fallbackDistance) {
+                fallbackStart = start;
+                fallbackTarget = farthest;
+                fallbackDistance = dist[farthest];
+            }
+        }
+        return new Puzzle(fallbackStart, fallbackTarget, fallbackDistance);
+    }
+}
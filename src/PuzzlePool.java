@@ -0,0 +1,251 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 预计算的题目池：按最短步数分桶保存 (起始单词id, 目标单词id)，可以在 O(1) 时间内取出指定难度的题目。
+ *
+ * 题目池由 PrecomputeApp 离线生成并写入二进制文件，游戏启动时读取一次，请求路径上不再做任何搜索。
+ *
+ * 文件格式（大端）：魔数 "WVPP"、版本号、字典单词数、字典指纹、桶数，
+ * 然后每个桶依次为步数、题目数以及 题目数×2 个int（起始id、目标id）。
+ */
+public final class PuzzlePool {
+    static final String DEFAULT_PATH = "puzzles.bin";
+    private static final int MAGIC = 0x57565050; // "WVPP"
+    private static final int VERSION = 1;
+
+    // 最近一次加载共享题目池时使用的字典及结果，字典被重新加载后按新的字典重新读取
+    private static volatile Shared shared;
+
+    // buckets[d] 为步数为 d 的题目，按 起始id、目标id 交替存放
+    private final int[][] buckets;
+    private final PuzzleSource defaultSource;
+
+    private PuzzlePool(int[][] buckets) {
+        this.buckets = buckets;
+        this.defaultSource = hasPuzzles(PuzzleGenerator.DEFAULT_MIN_DISTANCE, PuzzleGenerator.DEFAULT_MAX_DISTANCE)
+                ? source(PuzzleGenerator.DEFAULT_MIN_DISTANCE, PuzzleGenerator.DEFAULT_MAX_DISTANCE) : null;
+    }
+
+    /**
+     * 从全对步数表中为每个步数抽样最多 maxPerDistance 道题目
+     *
+     * @param table          全对步数表
+     * @param maxPerDistance 每个步数保留的题目上限
+     * @param random         抽样使用的随机数生成器
+     * @return 题目池
+     */
+    public static PuzzlePool fromTable(DistanceTable table, int maxPerDistance, Random random) {
+        int n = table.size();
+        int maxDistance = 0;
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                maxDistance = Math.max(maxDistance, table.distance(a, b));
+            }
+        }
+        int[][] buckets = new int[maxDistance + 1][];
+        int[] seen = new int[maxDistance + 1];
+        for (int d = 1; d <= maxDistance; d++) {
+            buckets[d] = new int[maxPerDistance * 2];
+        }
+        buckets[0] = new int[0];
+        // 蓄水池抽样，每个桶中的题目在所有同步数的单词对中均匀分布
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                int d = table.distance(a, b);
+                if (d <= 0) {
+                    continue;
+                }
+                int k = seen[d]++;
+                int slot = k < maxPerDistance ? k : random.nextInt(k + 1);
+                if (slot < maxPerDistance) {
+                    buckets[d][slot * 2] = a;
+                    buckets[d][slot * 2 + 1] = b;
+                }
+            }
+        }
+        for (int d = 1; d <= maxDistance; d++) {
+            buckets[d] = Arrays.copyOf(buckets[d], Math.min(seen[d], maxPerDistance) * 2);
+        }
+        return new PuzzlePool(buckets);
+    }
+
+    /**
+     * 获取与指定字典对应的共享题目池，第一次调用时从默认文件读取。文件不存在或与字典不匹配时返回null。
+     * 字典换成了另一个实例（例如 DictionaryRegistry.reload 之后）时，指纹相同则继续使用原来的题目池，
+     * 否则重新读取，保证题目中的单词id总是属于传入的字典。
+     *
+     * @param dictionary 当前字典
+     * @return 题目池或null
+     */
+    public static PuzzlePool shared(WordIndex dictionary) {
+        Shared current = shared;
+        if (current == null || current.dictionary != dictionary) {
+            synchronized (PuzzlePool.class) {
+                current = shared;
+                if (current == null || current.dictionary != dictionary) {
+                    PuzzlePool pool = current != null && current.fingerprint == dictionary.fingerprint()
+                            && current.size == dictionary.size() ? current.pool : load(dictionary);
+                    current = new Shared(dictionary, pool);
+                    shared = current;
+                }
+            }
+        }
+        return current.pool;
+    }
+
+    private static PuzzlePool load(WordIndex dictionary) {
+        File file = new File(DEFAULT_PATH);
+        if (file.isFile()) {
+            try {
+                return read(file, dictionary);
+            } catch (IOException e) {
+                System.err.println("Unable to load puzzle pool: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private static final class Shared {
+        final WordIndex dictionary;
+        final long fingerprint;
+        final int size;
+        final PuzzlePool pool;
+
+        Shared(WordIndex dictionary, PuzzlePool pool) {
+            this.dictionary = dictionary;
+            this.fingerprint = dictionary.fingerprint();
+            this.size = dictionary.size();
+            this.pool = pool;
+        }
+    }
+
+    /**
+     * 从指定步数的桶中随机取一道题目
+     *
+     * @param distance 步数（难度）
+     * @param random   随机数生成器
+     * @return 题目；该步数没有题目时返回null
+     */
+    public Puzzle draw(int distance, Random random) {
+        if (distance <= 0 || distance >= buckets.length || buckets[distance].length == 0) {
+            return null;
+        }
+        int[] bucket = buckets[distance];
+        int i = random.nextInt(bucket.length / 2) * 2;
+        return new Puzzle(bucket[i], bucket[i + 1], distance);
+    }
+
+    /**
+     * 获取难度在 [minDistance, maxDistance] 之间的题目来源，各个有题目的步数等概率出现
+     *
+     * @param minDistance 最小步数
+     * @param maxDistance 最大步数
+     * @return 题目来源
+     */
+    public PuzzleSource source(int minDistance, int maxDistance) {
+        int[] distances = availableDistances(minDistance, maxDistance);
+        if (distances.length == 0) {
+            throw new IllegalArgumentException("No puzzles between " + minDistance + " and " + maxDistance + " steps");
+        }
+        return random -> draw(distances[random.nextInt(distances.length)], random);
+    }
+
+    /**
+     * @return 步数在 [minDistance, maxDistance] 之间是否有题目
+     */
+    public boolean hasPuzzles(int minDistance, int maxDistance) {
+        return availableDistances(minDistance, maxDistance).length > 0;
+    }
+
+    private int[] availableDistances(int minDistance, int maxDistance) {
+        int from = Math.max(minDistance, 1);
+        int to = Math.min(maxDistance, buckets.length - 1);
+        int[] available = new int[Math.max(to - from + 1, 0)];
+        int count = 0;
+        for (int d = from; d <= to; d++) {
+            if (buckets[d].length > 0) {
+                available[count++] = d;
+            }
+        }
+        return Arrays.copyOf(available, count);
+    }
+
+    /**
+     * @return 使用默认步数区间的题目来源；该区间内没有题目时返回null
+     */
+    public PuzzleSource defaultSource() {
+        return defaultSource;
+    }
+
+    public int count(int distance) {
+        return distance > 0 && distance < buckets.length ? buckets[distance].length / 2 : 0;
+    }
+
+    public int maxDistance() {
+        return buckets.length - 1;
+    }
+
+    public void write(File file, WordIndex dictionary) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(dictionary.size());
+            out.writeLong(dictionary.fingerprint());
+            out.writeInt(buckets.length);
+            for (int d = 0; d < buckets.length; d++) {
+                out.writeInt(d);
+                out.writeInt(buckets[d].length / 2);
+                for (int value : buckets[d]) {
+                    out.writeInt(value);
+                }
+            }
+        }
+    }
+
+    public static PuzzlePool read(File file, WordIndex dictionary) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a puzzle pool file: " + file);
+            }
+            if (in.readInt() != dictionary.size() || in.readLong() != dictionary.fingerprint()) {
+                throw new IOException("Puzzle pool was built from a different dictionary: " + file);
+            }
+            // 两个单词之间的步数小于单词数，每道题目占8个字节，超出这些范围的文件一定是损坏的
+            int bucketCount = in.readInt();
+            if (bucketCount < 0 || bucketCount > dictionary.size()) {
+                throw new IOException("Invalid bucket count " + bucketCount + " in puzzle pool: " + file);
+            }
+            int[][] buckets = new int[bucketCount][];
+            for (int i = 0; i < bucketCount; i++) {
+                int d = in.readInt();
+                // 步数各不相同且都在范围内，读完之后每个桶都已经被设置
+                if (d < 0 || d >= bucketCount || buckets[d] != null) {
+                    throw new IOException("Invalid distance " + d + " in puzzle pool: " + file);
+                }
+                int pairs = in.readInt();
+                if (pairs < 0 || pairs > file.length() / 8) {
+                    throw new IOException("Invalid puzzle count " + pairs + " in puzzle pool: " + file);
+                }
+                int[] bucket = new int[pairs * 2];
+                for (int j = 0; j < bucket.length; j++) {
+                    int id = in.readInt();
+                    if (id < 0 || id >= dictionary.size()) {
+                        throw new IOException("Invalid word id " + id + " in puzzle pool: " + file);
+                    }
+                    bucket[j] = id;
+                }
+                buckets[d] = bucket;
+            }
+            return new PuzzlePool(buckets);
+        }
+    }
+}
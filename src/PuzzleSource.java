@@ -0,0 +1,14 @@
+import java.util.Random;
+
+/**
+ * 题目来源接口，Model 通过它选择每局游戏的起始单词和目标单词
+ */
+public interface PuzzleSource {
+    /**
+     * 选出下一道题目，返回的题目必须是可解的
+     * 
+     * @param random 随机数生成器
+     * @return 题目
+     */
+    Puzzle next(Random random);
+}
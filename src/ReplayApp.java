@@ -0,0 +1,80 @@
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ * 批量回放入口，也可以生成用于吞吐量测试的合成对局记录
+ *
+ * 用法：java ReplayApp 记录文件 [线程数]
+ *      java ReplayApp --generate 记录文件 对局数
+ */
+public class ReplayApp {
+    public static void main(String[] args) {
+        try {
+            WordIndex dictionary = DictionaryRegistry.get();
+            if (dictionary.size() == 0) {
+                throw new IllegalStateException("Dictionary failed to load or is empty");
+            }
+            if (args.length >= 3 && args[0].equals("--generate")) {
+                File file = new File(args[1]);
+                long games = Long.parseLong(args[2]);
+                generate(dictionary, file, games, new Random());
+                System.out.println("Wrote " + games + " games to " + file.getPath());
+                return;
+            }
+            if (args.length < 1) {
+                System.err.println("Usage: java ReplayApp <transcripts> [threads]");
+                System.err.println("       java ReplayApp --generate <transcripts> <games>");
+                return;
+            }
+
+            int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+            long start = System.nanoTime();
+            BatchReplay.Stats stats = new BatchReplay(dictionary, threads).replay(new File(args[0]));
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.print(stats);
+            System.out.printf("Replayed in %.2f s: %.0f games/s, %.0f moves/s on %d threads%n", seconds,
+                    stats.getGames() / seconds, stats.getMoves() / seconds, threads);
+        } catch (Exception e) {
+            System.err.println("Replay error: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 生成合成对局记录：每局沿最短路径走向目标，偶尔插入一个无效输入或走错一步
+     */
+    static void generate(WordIndex dictionary, File file, long games, Random random) throws IOException {
+        PuzzleSource puzzles = PuzzleGenerator.defaultFor(dictionary);
+        DistanceFieldCache fields = DistanceFieldCache.defaultFor(dictionary);
+        WordGraph graph = dictionary.graph();
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.US_ASCII))) {
+            for (long game = 0; game < games; game++) {
+                Puzzle puzzle = puzzles.next(random);
+                DistanceField field = fields.get(puzzle.getTargetId());
+                int current = puzzle.getStartId();
+                out.write(dictionary.wordAt(current));
+                out.write(' ');
+                out.write(dictionary.wordAt(puzzle.getTargetId()));
+                while (current != puzzle.getTargetId()) {
+                    int roll = random.nextInt(10);
+                    if (roll == 0) {
+                        // 不在字典中或者不相邻的输入，不会改变对局状态
+                        int other = random.nextInt(dictionary.size());
+                        boolean adjacent = other == current || graph.isAdjacent(current, other);
+                        out.write(random.nextBoolean() || adjacent ? " zzzz" : " " + dictionary.wordAt(other));
+                        continue;
+                    }
+                    current = field.nextStep(graph, current);
+                    out.write(' ');
+                    out.write(dictionary.wordAt(current));
+                }
+                out.write('\n');
+            }
+        }
+    }
+}
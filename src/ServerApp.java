@@ -0,0 +1,22 @@
+/**
+ * 网络版游戏入口
+ *
+ * 用法：java ServerApp [端口，默认7070]
+ */
+public class ServerApp {
+    public static void main(String[] args) {
+        try {
+            int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+            GameServer server = new GameServer(new SessionEngine());
+            int actualPort = server.start(port);
+            System.out.println("Weaver server listening on port " + actualPort
+                    + (VirtualThreads.isAvailable() ? " (virtual threads)" : " (platform threads)"));
+            // 指标可以通过JMX查看，退出时打印一次
+            GameMetrics.registerMBean();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.print(GameMetrics.get().dump())));
+        } catch (Exception e) {
+            System.err.println("Server error: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
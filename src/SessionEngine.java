@@ -0,0 +1,212 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 多会话游戏引擎：在一个进程中按会话id管理大量相互独立的游戏。
+ *
+ * 每个会话就是一个不带观察者的 Model（约一百多字节，字典和单词图由所有会话共享），
+ * 通过 IModel.processWord 驱动。同一个会话上的操作由分段锁串行化，不同会话之间互不阻塞。
+ *
+ * 配置了 GameJournal 时，开始新局、被接受的每一步和关闭会话都会追加到日志中，
+ * 进程重启后可以用 replayJournal 重建所有会话。
+ */
+public class SessionEngine {
+    private static final int LOCK_STRIPES = 1024;
+
+    private final ConcurrentHashMap<Long, Model> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final PuzzleSource puzzleSource;
+    private final GameJournal journal;
+
+    public SessionEngine() {
+        this(null, null);
+    }
+
+    public SessionEngine(PuzzleSource puzzleSource) {
+        this(puzzleSource, null);
+    }
+
+    /**
+     * @param puzzleSource 新会话使用的题目来源，为null时使用 Model 的默认来源
+     * @param journal      记录会话操作的日志，为null时不记录
+     */
+    public SessionEngine(PuzzleSource puzzleSource, GameJournal journal) {
+        this.puzzleSource = puzzleSource;
+        this.journal = journal;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * 创建新的会话并开始一局游戏
+     *
+     * @return 会话id
+     */
+    public long createSession() {
+        long id = nextId.getAndIncrement();
+        Model model = new Model(false, puzzleSource);
+        synchronized (lockFor(id)) {
+            sessions.put(id, model);
+            journalStart(id, model);
+        }
+        return id;
+    }
+
+    /**
+     * 在会话中提交一个单词
+     *
+     * @param sessionId 会话id
+     * @param word      玩家输入的单词
+     * @return 处理结果消息（与发给 GameObserver 的消息相同）；会话不存在时返回null
+     */
+    public String submit(long sessionId, String word) {
+        synchronized (lockFor(sessionId)) {
+            // 在锁内查找会话，避免对一个刚被 closeSession 关闭的会话写入日志
+            Model model = sessions.get(sessionId);
+            if (model == null) {
+                return null;
+            }
+            int before = model.getAttempts();
+            model.processWord(word);
+            if (journal != null && model.getAttempts() != before) {
+                journal.append(sessionId, GameJournal.MOVE, model.getLastValidWordId(), 0, model.getAttempts());
+            }
+            return model.getLastMessage();
+        }
+    }
+
+    /**
+     * 在会话中重新开始一局游戏
+     *
+     * @param sessionId 会话id
+     * @return 如果会话存在返回true
+     */
+    public boolean restart(long sessionId) {
+        synchronized (lockFor(sessionId)) {
+            Model model = sessions.get(sessionId);
+            if (model == null) {
+                return false;
+            }
+            model.newGame();
+            journalStart(sessionId, model);
+            return true;
+        }
+    }
+
+    /**
+     * 获取会话的游戏状态。返回的对象不能用来修改状态，修改必须通过 submit 和 restart 进行
+     *
+     * @param sessionId 会话id
+     * @return 会话的游戏状态；会话不存在时返回null
+     */
+    public IModel getSession(long sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    public boolean closeSession(long sessionId) {
+        synchronized (lockFor(sessionId)) {
+            if (sessions.remove(sessionId) == null) {
+                return false;
+            }
+            if (journal != null) {
+                journal.append(sessionId, GameJournal.CLOSE, -1, 0, 0);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 重放日志，重建日志中记录的所有会话。应在开始接受新的操作之前调用，重放的记录不会再次写入日志。
+     * 日志可以用任意分段大小写入，重放时使用分段文件本身的大小
+     *
+     * @param directory    日志目录
+     * @param fromPosition 开始重放的位置，0表示从头开始
+     * @return 重放结束的位置
+     */
+    public long replayJournal(File directory, long fromPosition) throws IOException {
+        WordIndex dictionary = DictionaryRegistry.get();
+        return GameJournal.replay(directory, fromPosition, (sessionId, timestamp, type, wordId, aux, attempt) -> {
+            switch (type) {
+                case GameJournal.START:
+                    restoreSession(sessionId, new Model(false, puzzleSource, new Puzzle(wordId, aux, attempt)));
+                    break;
+                case GameJournal.MOVE:
+                    Model model = sessions.get(sessionId);
+                    // 快照中已经包含的步骤会被跳过，因此从快照位置之前开始重放也是安全的
+                    if (model != null && attempt == model.getAttempts() + 1) {
+                        model.processWord(dictionary.wordAt(wordId));
+                    }
+                    break;
+                case GameJournal.CLOSE:
+                    sessions.remove(sessionId);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown journal record type: " + type);
+            }
+        });
+    }
+
+    /**
+     * 快照时访问会话状态的回调，调用时持有该会话的锁
+     */
+    interface SessionVisitor {
+        void visit(long sessionId, Model model);
+    }
+
+    /**
+     * 逐个在会话锁内访问所有会话。每次只锁住一个会话，其他会话可以继续游戏
+     */
+    void forEachSession(SessionVisitor visitor) {
+        for (Map.Entry<Long, Model> entry : sessions.entrySet()) {
+            long sessionId = entry.getKey();
+            synchronized (lockFor(sessionId)) {
+                // 加锁前会话可能已被关闭
+                if (sessions.get(sessionId) == entry.getValue()) {
+                    visitor.visit(sessionId, entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * 按快照中的状态恢复一个会话
+     */
+    void restoreSession(long sessionId, Puzzle puzzle, int lastValidWordId, int attempts, boolean gameWon) {
+        Model model = new Model(false, puzzleSource, puzzle);
+        model.restoreState(lastValidWordId, attempts, gameWon);
+        restoreSession(sessionId, model);
+    }
+
+    GameJournal getJournal() {
+        return journal;
+    }
+
+    private void restoreSession(long sessionId, Model model) {
+        sessions.put(sessionId, model);
+        long next;
+        while ((next = nextId.get()) <= sessionId && !nextId.compareAndSet(next, sessionId + 1)) {
+            // 重试直到 nextId 超过恢复的会话id
+        }
+    }
+
+    private void journalStart(long sessionId, Model model) {
+        if (journal != null) {
+            journal.append(sessionId, GameJournal.START, model.getStartWordId(), model.getTargetWordId(),
+                    model.getParDistance());
+        }
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private Object lockFor(long sessionId) {
+        int h = (int) (sessionId ^ (sessionId >>> 32));
+        return locks[(h ^ (h >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+}
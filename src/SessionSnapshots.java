@@ -0,0 +1,235 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 所有会话的紧凑快照，配合 GameJournal 实现快速恢复：启动时加载最新的快照，只重放快照之后的日志。
+ *
+ * 每个会话只保存最少的状态（起始、目标和上一个有效单词的id，尝试次数，标准步数，是否获胜）。
+ * 写快照时先记下日志位置，再逐个在会话锁内复制状态，不会暂停其他会话的游戏；
+ * 该位置之后的日志记录在重放时按尝试次数去重，因此快照和日志之间不需要严格一致的切点。
+ *
+ * 文件格式（大端）：魔数 "WVSS"、版本号、日志位置、字典指纹，然后是若干会话记录，以会话id为0的记录结束，
+ * 最后是之前所有字节的 CRC32。快照先写入临时文件并刷到磁盘，再原子地改名；
+ * 恢复时如果最新的快照损坏或不完整，就退回到上一个快照，都不可用时从头重放日志。
+ */
+public final class SessionSnapshots {
+    private static final int MAGIC = 0x57565353; // "WVSS"
+    private static final int VERSION = 2;
+    private static final int SNAPSHOTS_TO_KEEP = 2;
+
+    private SessionSnapshots() {
+    }
+
+    /**
+     * 为所有会话写一个快照
+     *
+     * @param engine    会话引擎
+     * @param directory 快照目录
+     * @return 写好的快照文件
+     */
+    public static File write(SessionEngine engine, File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create snapshot directory: " + directory);
+        }
+        GameJournal journal = engine.getJournal();
+        long position = journal != null ? journal.position() : 0;
+        WordIndex dictionary = DictionaryRegistry.get();
+
+        File temp = File.createTempFile("snapshot", ".tmp", directory);
+        try (FileOutputStream file = new FileOutputStream(temp)) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(position);
+            out.writeLong(dictionary.fingerprint());
+            IOException[] failure = new IOException[1];
+            engine.forEachSession((sessionId, model) -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                try {
+                    out.writeLong(sessionId);
+                    out.writeInt(model.getStartWordId());
+                    out.writeInt(model.getTargetWordId());
+                    out.writeInt(model.getLastValidWordId());
+                    out.writeInt(model.getAttempts());
+                    out.writeByte(model.getParDistance());
+                    out.writeBoolean(model.isGameWon());
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            out.writeLong(0);
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            // 改名之前数据必须已经在磁盘上，否则崩溃后可能留下一个名字正确但内容不完整的快照
+            file.getChannel().force(true);
+        } catch (IOException e) {
+            temp.delete();
+            throw e;
+        }
+
+        File file = new File(directory, String.format("snapshot-%020d.snap", position));
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(directory);
+        deleteOldSnapshots(directory);
+        return file;
+    }
+
+    /**
+     * 从最新的可用快照和之后的日志恢复所有会话，应在开始接受新的操作之前调用。
+     * 损坏的快照（魔数、CRC 或字典指纹不符，或者文件不完整）会被跳过，改用更早的快照；
+     * 没有可用的快照时从头重放日志
+     *
+     * @param engine            要恢复到的会话引擎
+     * @param snapshotDirectory 快照目录
+     * @param journalDirectory  日志目录，为null时只加载快照
+     * @return 恢复的会话数
+     */
+    public static int recover(SessionEngine engine, File snapshotDirectory, File journalDirectory) throws IOException {
+        long position = 0;
+        File[] snapshots = listSnapshots(snapshotDirectory);
+        for (int i = snapshots.length - 1; i >= 0; i--) {
+            try {
+                position = load(engine, snapshots[i]);
+                break;
+            } catch (IOException e) {
+                System.err.println("Skipping snapshot: " + e.getMessage());
+            }
+        }
+        if (journalDirectory != null && journalDirectory.isDirectory()) {
+            engine.replayJournal(journalDirectory, position);
+        }
+        return engine.size();
+    }
+
+    /**
+     * 按固定间隔在后台线程上写快照
+     *
+     * @return 执行快照的调度器，关闭它即停止快照
+     */
+    public static ScheduledExecutorService schedule(SessionEngine engine, File directory, long periodSeconds) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "weaver-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                write(engine, directory);
+            } catch (IOException e) {
+                System.err.println("Snapshot error: " + e.getMessage());
+            }
+        }, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        return scheduler;
+    }
+
+    // 先读完并校验整个文件，校验通过后才恢复会话，损坏的快照不会在引擎中留下一部分会话
+    private static long load(SessionEngine engine, File file) throws IOException {
+        WordIndex dictionary = DictionaryRegistry.get();
+        List<SavedSession> saved = new ArrayList<>();
+        long position;
+        try (CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(new FileInputStream(file), 1 << 16), new CRC32())) {
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a session snapshot: " + file);
+            }
+            position = in.readLong();
+            if (in.readLong() != dictionary.fingerprint()) {
+                throw new IOException("Snapshot was written with a different dictionary: " + file);
+            }
+            long sessionId;
+            while ((sessionId = in.readLong()) != 0) {
+                saved.add(new SavedSession(sessionId, in.readInt(), in.readInt(), in.readInt(), in.readInt(),
+                        in.readUnsignedByte(), in.readBoolean()));
+            }
+            long crc = checked.getChecksum().getValue();
+            if (in.readLong() != crc) {
+                throw new IOException("Snapshot checksum mismatch: " + file);
+            }
+        } catch (EOFException e) {
+            throw new IOException("Snapshot is truncated: " + file, e);
+        }
+        for (SavedSession session : saved) {
+            engine.restoreSession(session.sessionId,
+                    new Puzzle(session.startId, session.targetId, session.parDistance),
+                    session.lastValidWordId, session.attempts, session.gameWon);
+        }
+        return position;
+    }
+
+    // 改名后刷新目录项，保证新快照的名字在崩溃后仍然存在；不支持打开目录的平台上忽略
+    private static void syncDirectory(File directory) {
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // 例如 Windows 上不能以读方式打开目录
+        }
+    }
+
+    private static void deleteOldSnapshots(File directory) {
+        File[] snapshots = listSnapshots(directory);
+        for (int i = 0; i < snapshots.length - SNAPSHOTS_TO_KEEP; i++) {
+            snapshots[i].delete();
+        }
+    }
+
+    /**
+     * 快照中一个会话的状态
+     */
+    private static final class SavedSession {
+        final long sessionId;
+        final int startId;
+        final int targetId;
+        final int lastValidWordId;
+        final int attempts;
+        final int parDistance;
+        final boolean gameWon;
+
+        SavedSession(long sessionId, int startId, int targetId, int lastValidWordId, int attempts, int parDistance,
+                boolean gameWon) {
+            this.sessionId = sessionId;
+            this.startId = startId;
+            this.targetId = targetId;
+            this.lastValidWordId = lastValidWordId;
+            this.attempts = attempts;
+            this.parDistance = parDistance;
+            this.gameWon = gameWon;
+        }
+    }
+
+    // 文件名中的日志位置是定长数字，按名称排序即按时间排序
+    private static File[] listSnapshots(File directory) {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith("snapshot-") && name.endsWith(".snap"));
+        if (files == null) {
+            return new File[0];
+        }
+        Arrays.sort(files);
+        return files;
+    }
+}
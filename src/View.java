@@ -2,35 +2,35 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.Scanner;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
-public class View extends JFrame implements GameObserver {
+public class View extends JFrame implements GameObserver, GameEventListener {
     private Controller controller;
 
     // 图形界面组件
     private JPanel gamePanel;
     private JTextField[] inputFields;
     private JButton submitButton;
+    private JButton hintButton;
     private JLabel[] startWordLabels;
     private JLabel[] targetWordLabels;
-    private List<JLabel[]> historyLabels;
-    private JPanel historyPanel;
+    private JPanel startWordPanel;
+    private JPanel inputPanel;
+    private JPanel targetWordPanel;
+    private JComboBox<Integer> lengthSelector;
+    private WordHistoryList historyList;
+    private ViewUpdateScheduler updateScheduler;
     private JPanel keyboardPanel;
     private JTextArea feedbackArea;
-    private Color appleBlue = new Color(0, 122, 255);
-    private Color appleGray = new Color(142, 142, 147);
-    private Color appleLightGray = new Color(229, 229, 234);
-    private Color appleGreen = new Color(52, 199, 89);
-    private Color appleRed = new Color(255, 59, 48);
 
     // 命令行界面组件
     private Scanner scanner;
 
     public View(boolean isGUI) {
         if (isGUI) {
-            historyLabels = new ArrayList<>();
+            updateScheduler = new ViewUpdateScheduler(this::applyUpdates);
             setupGUI();
             setVisible(true);
         } else {
@@ -43,39 +43,59 @@ public class View extends JFrame implements GameObserver {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLayout(new BorderLayout());
         setSize(500, 800);
-        getRootPane().setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        getRootPane().setBorder(ViewStyles.FRAME_PADDING);
 
         gamePanel = new JPanel();
         gamePanel.setLayout(new BoxLayout(gamePanel, BoxLayout.Y_AXIS));
-        gamePanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+        gamePanel.setBorder(ViewStyles.PANEL_PADDING);
         gamePanel.setBackground(Color.WHITE);
 
         JPanel topPanel = new JPanel(new BorderLayout());
         topPanel.setBackground(Color.WHITE);
-        topPanel.setMaximumSize(new Dimension(450, 40));
-        topPanel.setPreferredSize(new Dimension(450, 40));
+        topPanel.setMaximumSize(ViewStyles.BAR_SIZE);
+        topPanel.setPreferredSize(ViewStyles.BAR_SIZE);
 
         JLabel titleLabel = new JLabel("Weaver Game");
-        titleLabel.setFont(new Font("SF Pro Display", Font.BOLD, 24));
+        titleLabel.setFont(ViewStyles.TITLE_FONT);
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
         topPanel.add(titleLabel, BorderLayout.CENTER);
 
+        // 单词长度选择，只列出字典中有单词的长度，切换后以新长度开始一局
+        lengthSelector = new JComboBox<>();
+        List<Integer> lengths = DictionaryRegistry.availableLengths();
+        if (!lengths.contains(DictionaryRegistry.DEFAULT_WORD_LENGTH)) {
+            lengths.add(DictionaryRegistry.DEFAULT_WORD_LENGTH);
+            Collections.sort(lengths);
+        }
+        for (int length : lengths) {
+            lengthSelector.addItem(length);
+        }
+        lengthSelector.setSelectedItem(DictionaryRegistry.DEFAULT_WORD_LENGTH);
+        lengthSelector.setFont(ViewStyles.CONTROL_FONT);
+        lengthSelector.setFocusable(false);
+        lengthSelector.addActionListener(e -> {
+            if (controller != null && (Integer) lengthSelector.getSelectedItem() != controller.getWordLength()) {
+                restartGame();
+            }
+        });
+        topPanel.add(lengthSelector, BorderLayout.WEST);
+
         // Add restart button
         JButton restartButton = new JButton("Restart");
-        restartButton.setFont(new Font("SF Pro Display", Font.PLAIN, 14));
+        restartButton.setFont(ViewStyles.CONTROL_FONT);
         restartButton.setForeground(Color.WHITE);
-        restartButton.setBackground(appleBlue);
+        restartButton.setBackground(ViewStyles.BLUE);
         restartButton.setBorderPainted(false);
         restartButton.setFocusPainted(false);
-        restartButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        restartButton.setCursor(ViewStyles.HAND_CURSOR);
         restartButton.addActionListener(e -> restartGame());
         restartButton.addMouseListener(new MouseAdapter() {
             public void mouseEntered(MouseEvent e) {
-                restartButton.setBackground(appleBlue.darker());
+                restartButton.setBackground(ViewStyles.BLUE_HOVER);
             }
 
             public void mouseExited(MouseEvent e) {
-                restartButton.setBackground(appleBlue);
+                restartButton.setBackground(ViewStyles.BLUE);
             }
         });
         topPanel.add(restartButton, BorderLayout.EAST);
@@ -83,50 +103,15 @@ public class View extends JFrame implements GameObserver {
         gamePanel.add(topPanel);
         gamePanel.add(Box.createVerticalStrut(20));
 
-        // 使用GridLayout确保所有单元格大小一致
-        // 创建起始单词行
-        JPanel startWordPanel = new JPanel(new GridLayout(1, 4, 10, 0));
-        startWordPanel.setBackground(Color.WHITE);
-        startWordPanel.setMaximumSize(new Dimension(450, 70));
-        startWordPanel.setMinimumSize(new Dimension(450, 70));
-        startWordPanel.setPreferredSize(new Dimension(450, 70));
-        startWordLabels = new JLabel[4];
-        for (int i = 0; i < 4; i++) {
-            startWordLabels[i] = createLetterLabel("");
-            startWordLabels[i].setBackground(Color.WHITE);
-            startWordLabels[i].setForeground(Color.BLACK);
-            startWordPanel.add(startWordLabels[i]);
-        }
+        // 使用GridLayout确保所有单元格大小一致，列数随单词长度变化
+        startWordPanel = createWordRow();
+        inputPanel = createWordRow();
+        targetWordPanel = createWordRow();
+        buildWordRows(DictionaryRegistry.DEFAULT_WORD_LENGTH);
         gamePanel.add(startWordPanel);
         gamePanel.add(Box.createVerticalStrut(20));
-
-        // 创建输入行
-        JPanel inputPanel = new JPanel(new GridLayout(1, 4, 10, 0));
-        inputPanel.setBackground(Color.WHITE);
-        inputPanel.setMaximumSize(new Dimension(450, 70));
-        inputPanel.setMinimumSize(new Dimension(450, 70));
-        inputPanel.setPreferredSize(new Dimension(450, 70));
-        inputFields = new JTextField[4];
-        for (int i = 0; i < 4; i++) {
-            inputFields[i] = createInputField();
-            inputPanel.add(inputFields[i]);
-        }
         gamePanel.add(inputPanel);
         gamePanel.add(Box.createVerticalStrut(20));
-
-        // 创建目标单词行
-        JPanel targetWordPanel = new JPanel(new GridLayout(1, 4, 10, 0));
-        targetWordPanel.setBackground(Color.WHITE);
-        targetWordPanel.setMaximumSize(new Dimension(450, 70));
-        targetWordPanel.setMinimumSize(new Dimension(450, 70));
-        targetWordPanel.setPreferredSize(new Dimension(450, 70));
-        targetWordLabels = new JLabel[4];
-        for (int i = 0; i < 4; i++) {
-            targetWordLabels[i] = createLetterLabel("");
-            targetWordLabels[i].setBackground(Color.WHITE);
-            targetWordLabels[i].setForeground(Color.BLACK);
-            targetWordPanel.add(targetWordLabels[i]);
-        }
         gamePanel.add(targetWordPanel);
         gamePanel.add(Box.createVerticalStrut(30));
 
@@ -135,24 +120,34 @@ public class View extends JFrame implements GameObserver {
         inputPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
         targetWordPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
-        // 创建提交按钮
+        // 创建提交按钮和提示按钮
         submitButton = createAppleButton("Submit");
-        submitButton.setAlignmentX(Component.CENTER_ALIGNMENT);
         submitButton.addActionListener(e -> {
             if (controller != null) {
                 handleInput();
             }
         });
-        gamePanel.add(submitButton);
+        hintButton = createAppleButton("Hint");
+        hintButton.addActionListener(e -> {
+            if (controller != null) {
+                showHint();
+            }
+        });
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        buttonPanel.setBackground(Color.WHITE);
+        buttonPanel.setMaximumSize(ViewStyles.BAR_SIZE);
+        buttonPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        buttonPanel.add(submitButton);
+        buttonPanel.add(hintButton);
+        gamePanel.add(buttonPanel);
         gamePanel.add(Box.createVerticalStrut(30));
 
         // 创建历史记录面板
-        historyPanel = new JPanel();
-        historyPanel.setLayout(new BoxLayout(historyPanel, BoxLayout.Y_AXIS));
-        historyPanel.setBackground(Color.WHITE);
-        JScrollPane historyScrollPane = new JScrollPane(historyPanel);
-        historyScrollPane.setPreferredSize(new Dimension(400, 200));
-        historyScrollPane.setBorder(BorderFactory.createEmptyBorder());
+        historyList = new WordHistoryList();
+        JScrollPane historyScrollPane = new JScrollPane(historyList);
+        historyScrollPane.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+        historyScrollPane.setPreferredSize(ViewStyles.HISTORY_SIZE);
+        historyScrollPane.setBorder(ViewStyles.NO_BORDER);
         gamePanel.add(historyScrollPane);
         gamePanel.add(Box.createVerticalStrut(20));
 
@@ -170,11 +165,55 @@ public class View extends JFrame implements GameObserver {
         });
     }
 
+    private JPanel createWordRow() {
+        JPanel row = new JPanel();
+        row.setBackground(Color.WHITE);
+        row.setMaximumSize(ViewStyles.ROW_SIZE);
+        row.setMinimumSize(ViewStyles.ROW_SIZE);
+        row.setPreferredSize(ViewStyles.ROW_SIZE);
+        return row;
+    }
+
+    /**
+     * 按单词长度重新创建起始单词行、输入行和目标单词行中的单元格
+     *
+     * @param wordLength 单词长度
+     */
+    private void buildWordRows(int wordLength) {
+        startWordPanel.removeAll();
+        inputPanel.removeAll();
+        targetWordPanel.removeAll();
+        startWordPanel.setLayout(new GridLayout(1, wordLength, 10, 0));
+        inputPanel.setLayout(new GridLayout(1, wordLength, 10, 0));
+        targetWordPanel.setLayout(new GridLayout(1, wordLength, 10, 0));
+
+        startWordLabels = new JLabel[wordLength];
+        inputFields = new JTextField[wordLength];
+        targetWordLabels = new JLabel[wordLength];
+        for (int i = 0; i < wordLength; i++) {
+            startWordLabels[i] = createLetterLabel("");
+            startWordLabels[i].setBackground(Color.WHITE);
+            startWordLabels[i].setForeground(Color.BLACK);
+            startWordPanel.add(startWordLabels[i]);
+
+            inputFields[i] = createInputField();
+            inputPanel.add(inputFields[i]);
+
+            targetWordLabels[i] = createLetterLabel("");
+            targetWordLabels[i].setBackground(Color.WHITE);
+            targetWordLabels[i].setForeground(Color.BLACK);
+            targetWordPanel.add(targetWordLabels[i]);
+        }
+        startWordPanel.revalidate();
+        inputPanel.revalidate();
+        targetWordPanel.revalidate();
+    }
+
     private void createVirtualKeyboard() {
         keyboardPanel = new JPanel();
         keyboardPanel.setLayout(new GridLayout(4, 10, 5, 5));
         keyboardPanel.setBackground(Color.WHITE);
-        keyboardPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        keyboardPanel.setBorder(ViewStyles.FRAME_PADDING);
 
         String[] letters = {
                 "q", "w", "e", "r", "t", "y", "u", "i", "o", "p",
@@ -190,14 +229,12 @@ public class View extends JFrame implements GameObserver {
 
         // 添加删除键
         JButton deleteButton = new JButton("⌫");
-        deleteButton.setFont(new Font("SF Pro Display", Font.BOLD, 20));
+        deleteButton.setFont(ViewStyles.DELETE_KEY_FONT);
         deleteButton.setForeground(Color.BLACK);
         deleteButton.setBackground(Color.WHITE);
-        deleteButton.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(appleLightGray, 1),
-                BorderFactory.createEmptyBorder(5, 5, 5, 5)));
+        deleteButton.setBorder(ViewStyles.KEY_BORDER);
         deleteButton.setFocusPainted(false);
-        deleteButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        deleteButton.setCursor(ViewStyles.HAND_CURSOR);
 
         deleteButton.addActionListener(e -> {
             Component focused = KeyboardFocusManager.getCurrentKeyboardFocusManager().getFocusOwner();
@@ -220,7 +257,7 @@ public class View extends JFrame implements GameObserver {
 
         deleteButton.addMouseListener(new MouseAdapter() {
             public void mousePressed(MouseEvent e) {
-                deleteButton.setBackground(appleLightGray);
+                deleteButton.setBackground(ViewStyles.LIGHT_GRAY);
             }
 
             public void mouseReleased(MouseEvent e) {
@@ -235,14 +272,12 @@ public class View extends JFrame implements GameObserver {
 
     private JButton createKeyButton(String letter) {
         JButton button = new JButton(letter.toUpperCase());
-        button.setFont(new Font("SF Pro Display", Font.BOLD, 16));
+        button.setFont(ViewStyles.KEY_FONT);
         button.setForeground(Color.BLACK);
         button.setBackground(Color.WHITE);
-        button.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(appleLightGray, 1),
-                BorderFactory.createEmptyBorder(5, 5, 5, 5)));
+        button.setBorder(ViewStyles.KEY_BORDER);
         button.setFocusPainted(false);
-        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        button.setCursor(ViewStyles.HAND_CURSOR);
 
         button.addActionListener(e -> {
             // 找到目前活跃的输入框或第一个空的输入框
@@ -282,7 +317,7 @@ public class View extends JFrame implements GameObserver {
 
         button.addMouseListener(new MouseAdapter() {
             public void mousePressed(MouseEvent e) {
-                button.setBackground(appleLightGray);
+                button.setBackground(ViewStyles.LIGHT_GRAY);
             }
 
             public void mouseReleased(MouseEvent e) {
@@ -327,15 +362,13 @@ public class View extends JFrame implements GameObserver {
 
     private JLabel createLetterLabel(String text) {
         JLabel label = new JLabel(text);
-        label.setFont(new Font("SF Pro Display", Font.BOLD, 24));
-        label.setPreferredSize(new Dimension(60, 60));
-        label.setMaximumSize(new Dimension(60, 60));
-        label.setMinimumSize(new Dimension(60, 60));
+        label.setFont(ViewStyles.LETTER_FONT);
+        label.setPreferredSize(ViewStyles.TILE_SIZE);
+        label.setMaximumSize(ViewStyles.TILE_SIZE);
+        label.setMinimumSize(ViewStyles.TILE_SIZE);
         label.setOpaque(true);
         label.setBackground(Color.WHITE);
-        label.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(appleLightGray, 2),
-                BorderFactory.createEmptyBorder(5, 5, 5, 5)));
+        label.setBorder(ViewStyles.TILE_BORDER);
         label.setHorizontalAlignment(SwingConstants.CENTER);
         label.setVerticalAlignment(SwingConstants.CENTER);
         return label;
@@ -343,18 +376,16 @@ public class View extends JFrame implements GameObserver {
 
     private JTextField createInputField() {
         JTextField field = new JTextField(1);
-        field.setFont(new Font("SF Pro Display", Font.BOLD, 24));
+        field.setFont(ViewStyles.LETTER_FONT);
         field.setHorizontalAlignment(JTextField.CENTER);
-        field.setPreferredSize(new Dimension(60, 60));
-        field.setMaximumSize(new Dimension(60, 60));
-        field.setMinimumSize(new Dimension(60, 60));
-        field.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(appleLightGray, 2),
-                BorderFactory.createEmptyBorder(5, 5, 5, 5)));
+        field.setPreferredSize(ViewStyles.TILE_SIZE);
+        field.setMaximumSize(ViewStyles.TILE_SIZE);
+        field.setMinimumSize(ViewStyles.TILE_SIZE);
+        field.setBorder(ViewStyles.TILE_BORDER);
         field.setBackground(Color.WHITE);
         field.setCaretColor(Color.BLACK);
         field.setSelectedTextColor(Color.WHITE);
-        field.setSelectionColor(appleBlue);
+        field.setSelectionColor(ViewStyles.BLUE);
 
         // 禁用自动调整大小
         field.setColumns(1);
@@ -383,16 +414,12 @@ public class View extends JFrame implements GameObserver {
 
         field.addFocusListener(new FocusAdapter() {
             public void focusGained(FocusEvent e) {
-                field.setBorder(BorderFactory.createCompoundBorder(
-                        BorderFactory.createLineBorder(appleBlue, 2),
-                        BorderFactory.createEmptyBorder(5, 5, 5, 5)));
+                field.setBorder(ViewStyles.FOCUSED_TILE_BORDER);
             }
 
             public void focusLost(FocusEvent e) {
                 if (field.getBackground() == Color.WHITE) {
-                    field.setBorder(BorderFactory.createCompoundBorder(
-                            BorderFactory.createLineBorder(appleLightGray, 2),
-                            BorderFactory.createEmptyBorder(5, 5, 5, 5)));
+                    field.setBorder(ViewStyles.TILE_BORDER);
                 }
             }
         });
@@ -402,30 +429,30 @@ public class View extends JFrame implements GameObserver {
 
     private JButton createAppleButton(String text) {
         JButton button = new JButton(text);
-        button.setFont(new Font("SF Pro Display", Font.PLAIN, 16));
+        button.setFont(ViewStyles.BUTTON_FONT);
         button.setForeground(Color.WHITE);
-        button.setBackground(appleBlue);
+        button.setBackground(ViewStyles.BLUE);
         button.setBorderPainted(false);
         button.setFocusPainted(false);
-        button.setPreferredSize(new Dimension(120, 40));
-        button.setMaximumSize(new Dimension(120, 40));
-        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        button.setPreferredSize(ViewStyles.BUTTON_SIZE);
+        button.setMaximumSize(ViewStyles.BUTTON_SIZE);
+        button.setCursor(ViewStyles.HAND_CURSOR);
 
         button.addMouseListener(new MouseAdapter() {
             public void mouseEntered(MouseEvent e) {
-                button.setBackground(appleBlue.darker());
+                button.setBackground(ViewStyles.BLUE_HOVER);
             }
 
             public void mouseExited(MouseEvent e) {
-                button.setBackground(appleBlue);
+                button.setBackground(ViewStyles.BLUE);
             }
 
             public void mousePressed(MouseEvent e) {
-                button.setBackground(appleBlue.darker().darker());
+                button.setBackground(ViewStyles.BLUE_PRESSED);
             }
 
             public void mouseReleased(MouseEvent e) {
-                button.setBackground(appleBlue.darker());
+                button.setBackground(ViewStyles.BLUE_HOVER);
             }
         });
 
@@ -454,16 +481,29 @@ public class View extends JFrame implements GameObserver {
         }
 
         String inputWord = word.toString();
-        if (inputWord.length() == 4) {
+        if (inputWord.length() == inputFields.length) {
             if (controller != null) {
                 controller.handleUserInput(inputWord);
             }
         }
     }
 
+    /**
+     * 把提示的下一个单词填入输入框，由玩家决定是否提交
+     */
+    private void showHint() {
+        String hint = controller.getHint();
+        if (hint == null) {
+            return;
+        }
+        for (int i = 0; i < inputFields.length; i++) {
+            inputFields[i].setText(String.valueOf(hint.charAt(i)));
+        }
+        inputFields[inputFields.length - 1].requestFocus();
+    }
+
     private void createCLI() {
         scanner = new Scanner(System.in);
-        historyLabels = new ArrayList<>(); // 确保CLI模式下也初始化historyLabels
     }
 
     public void displayGameStart() {
@@ -482,16 +522,21 @@ public class View extends JFrame implements GameObserver {
         } else {
             String startWord = controller.getStartWord();
             String targetWord = controller.getTargetWord();
+            int wordLength = controller.getWordLength();
+            if (inputFields.length != wordLength) {
+                buildWordRows(wordLength);
+            }
+            lengthSelector.setSelectedItem(wordLength);
 
             // 显示起始单词
-            for (int i = 0; i < 4; i++) {
+            for (int i = 0; i < wordLength; i++) {
                 startWordLabels[i].setText(String.valueOf(startWord.charAt(i)));
                 startWordLabels[i].setBackground(Color.WHITE);
                 startWordLabels[i].setForeground(Color.BLACK);
             }
 
             // 显示目标单词
-            for (int i = 0; i < 4; i++) {
+            for (int i = 0; i < wordLength; i++) {
                 targetWordLabels[i].setText(String.valueOf(targetWord.charAt(i)));
                 targetWordLabels[i].setBackground(Color.WHITE);
                 targetWordLabels[i].setForeground(Color.BLACK);
@@ -502,9 +547,7 @@ public class View extends JFrame implements GameObserver {
                 field.setText("");
                 field.setBackground(Color.WHITE);
                 field.setForeground(Color.BLACK);
-                field.setBorder(BorderFactory.createCompoundBorder(
-                        BorderFactory.createLineBorder(appleLightGray, 2),
-                        BorderFactory.createEmptyBorder(5, 5, 5, 5)));
+                field.setBorder(ViewStyles.TILE_BORDER);
             }
 
             // 清空反馈和历史记录
@@ -519,7 +562,7 @@ public class View extends JFrame implements GameObserver {
 
             // 检查输入有效性，避免误输入反馈消息
             if (input.startsWith("feedback:") || input.startsWith("Feedback:")) {
-                System.out.println("Please enter a valid 4-letter word.");
+                System.out.println("Please enter a valid " + controller.getWordLength() + "-letter word.");
                 return getUserInput(); // 重新获取输入
             }
 
@@ -535,13 +578,69 @@ public class View extends JFrame implements GameObserver {
 
     @Override
     public void onGameUpdate(String message) {
-        SwingUtilities.invokeLater(() -> {
-            if (message.equals("Game Won!")) {
-                displayWinner();
-            } else {
-                displayFeedback(message);
-            }
-        });
+        if (scanner != null) {
+            SwingUtilities.invokeLater(() -> {
+                if (message.equals("Game Won!")) {
+                    displayWinner();
+                } else {
+                    displayFeedback(message);
+                }
+            });
+        } else if (message.equals("Game Won!")) {
+            updateScheduler.gameWon();
+        } else if (message.startsWith("Feedback:")) {
+            updateScheduler.feedback(-1, parseFeedback(message));
+        }
+    }
+
+    @Override
+    public void onGameEvent(GameEvent event, int wordId, int attempts) {
+        if (scanner != null) {
+            SwingUtilities.invokeLater(() -> {
+                if (event.getKind() == GameEvent.Kind.GAME_WON) {
+                    displayWinner();
+                } else {
+                    System.out.println(event.getMessage());
+                }
+            });
+        } else if (event.getKind() == GameEvent.Kind.GAME_WON) {
+            // 图形界面的更新按帧合并后在EDT上应用，见 applyUpdates
+            updateScheduler.gameWon();
+        } else if (event.getKind() == GameEvent.Kind.FEEDBACK) {
+            updateScheduler.feedback(wordId, event.getFeedbackBits());
+        }
+    }
+
+    /**
+     * 在EDT上应用一帧内合并的更新：历史记录一次追加所有步骤，输入框只按最新的反馈更新，最后处理获胜
+     */
+    private void applyUpdates(ViewUpdateScheduler.Batch batch) {
+        int count = batch.size();
+        if (count > 0) {
+            WordIndex dictionary = DictionaryRegistry.get(inputFields.length);
+            String[] words = new String[count];
+            int[] feedback = new int[count];
+            for (int i = 0; i < count; i++) {
+                int wordId = batch.wordIdAt(i);
+                // 来自字符串消息的反馈没有单词id，使用输入框中的单词
+                words[i] = wordId >= 0 && wordId < dictionary.size() ? dictionary.wordAt(wordId) : getUserInput();
+                feedback[i] = batch.feedbackAt(i);
+            }
+            updateInputFieldsWithFeedback(feedback[count - 1]);
+            historyList.addWords(words, feedback, count);
+        }
+        if (batch.isWon()) {
+            displayWinner();
+        }
+    }
+
+    private static int parseFeedback(String message) {
+        String result = message.substring(9).trim();
+        int bits = 0;
+        for (int i = 0; i < result.length(); i++) {
+            bits = (bits << 1) | (result.charAt(i) == 'G' ? 1 : 0);
+        }
+        return bits;
     }
 
     public void displayFeedback(String feedback) {
@@ -549,78 +648,35 @@ public class View extends JFrame implements GameObserver {
             System.out.println(feedback);
         } else {
             if (feedback.startsWith("Feedback:")) {
-                String result = feedback.substring(9).trim();
-                updateInputFieldsWithFeedback(result);
-                addWordToHistory(result);
+                int bits = parseFeedback(feedback);
+                updateInputFieldsWithFeedback(bits);
+                addWordToHistory(bits);
             }
         }
     }
 
-    private void updateInputFieldsWithFeedback(String feedback) {
-        for (int i = 0; i < feedback.length(); i++) {
-            char result = feedback.charAt(i);
+    private void updateInputFieldsWithFeedback(int feedback) {
+        for (int i = 0; i < inputFields.length; i++) {
             JTextField field = inputFields[i];
-            if (result == 'G') {
-                // 如果字母正确，设置为绿色并禁用
-                field.setBackground(appleGreen);
-                field.setForeground(Color.WHITE);
+            // 字母正确时设置为绿色并禁用，字母不存在或位置不对时统一设置为灰色
+            boolean correct = Feedback.isCorrect(feedback, i, inputFields.length);
+            field.setBackground(ViewStyles.feedbackColor(correct));
+            field.setForeground(Color.WHITE);
+            field.setBorder(ViewStyles.feedbackBorder(correct));
+            if (correct) {
                 field.setEnabled(false);
-            } else {
-                // 如果字母不存在或位置不对，统一设置为灰色
-                field.setBackground(appleGray);
-                field.setForeground(Color.WHITE);
-            }
-            field.setBorder(BorderFactory.createCompoundBorder(
-                    BorderFactory.createLineBorder(field.getBackground(), 2),
-                    BorderFactory.createEmptyBorder(5, 5, 5, 5)));
-            field.repaint();
-        }
-    }
-
-    private void addWordToHistory(String feedback) {
-        // 创建单词面板
-        JPanel wordPanel = new JPanel(new GridLayout(1, 4, 10, 0));
-        wordPanel.setBackground(Color.WHITE);
-        wordPanel.setMaximumSize(new Dimension(450, 70));
-        wordPanel.setMinimumSize(new Dimension(450, 70));
-        wordPanel.setPreferredSize(new Dimension(450, 70));
-
-        JLabel[] letterLabels = new JLabel[4];
-
-        for (int i = 0; i < 4; i++) {
-            String letter = inputFields[i].getText();
-            letterLabels[i] = createLetterLabel(letter);
-            char result = feedback.charAt(i);
-            if (result == 'G') {
-                letterLabels[i].setBackground(appleGreen);
-                letterLabels[i].setForeground(Color.WHITE);
-            } else {
-                // 如果字母不存在或位置不对，统一设置为灰色
-                letterLabels[i].setBackground(appleGray);
-                letterLabels[i].setForeground(Color.WHITE);
             }
-            wordPanel.add(letterLabels[i]);
         }
+        // 整行只重绘一次
+        inputPanel.repaint();
+    }
 
-        // 添加连接线
-        if (!historyLabels.isEmpty()) {
-            JPanel linePanel = new JPanel();
-            linePanel.setLayout(new BoxLayout(linePanel, BoxLayout.Y_AXIS));
-            linePanel.setBackground(Color.WHITE);
-
-            JLabel line = new JLabel("↓");
-            line.setFont(new Font("SF Pro Display", Font.PLAIN, 20));
-            line.setAlignmentX(Component.CENTER_ALIGNMENT);
-            linePanel.add(line);
-
-            historyPanel.add(linePanel);
+    private void addWordToHistory(int feedback) {
+        StringBuilder word = new StringBuilder(inputFields.length);
+        for (JTextField field : inputFields) {
+            word.append(field.getText());
         }
-
-        historyPanel.add(wordPanel);
-        historyPanel.add(Box.createVerticalStrut(5));
-        historyLabels.add(letterLabels);
-        historyPanel.revalidate();
-        historyPanel.repaint();
+        historyList.addWord(word.toString(), feedback);
     }
 
     public void displayWinner() {
@@ -631,13 +687,11 @@ public class View extends JFrame implements GameObserver {
         } else {
             // 将最后一步设置为目标单词
             String targetWord = controller.getTargetWord();
-            for (int i = 0; i < 4; i++) {
+            for (int i = 0; i < inputFields.length; i++) {
                 inputFields[i].setText(String.valueOf(targetWord.charAt(i)));
-                inputFields[i].setBackground(appleGreen);
+                inputFields[i].setBackground(ViewStyles.CORRECT);
                 inputFields[i].setForeground(Color.WHITE);
-                inputFields[i].setBorder(BorderFactory.createCompoundBorder(
-                        BorderFactory.createLineBorder(appleGreen, 2),
-                        BorderFactory.createEmptyBorder(5, 5, 5, 5)));
+                inputFields[i].setBorder(ViewStyles.CORRECT_TILE_BORDER);
                 inputFields[i].setEnabled(false);
             }
 
@@ -651,25 +705,25 @@ public class View extends JFrame implements GameObserver {
             // 创建胜利消息面板
             JPanel messagePanel = new JPanel();
             messagePanel.setLayout(new BoxLayout(messagePanel, BoxLayout.Y_AXIS));
-            messagePanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+            messagePanel.setBorder(ViewStyles.PANEL_PADDING);
             messagePanel.setBackground(Color.WHITE);
 
             // 添加胜利图标
             JLabel iconLabel = new JLabel("🎉");
-            iconLabel.setFont(new Font("SF Pro Display", Font.PLAIN, 48));
+            iconLabel.setFont(ViewStyles.ICON_FONT);
             iconLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
             messagePanel.add(iconLabel);
             messagePanel.add(Box.createVerticalStrut(20));
 
             // 添加胜利消息
             JLabel messageLabel = new JLabel("Congratulations! You found the correct word!");
-            messageLabel.setFont(new Font("SF Pro Display", Font.BOLD, 18));
+            messageLabel.setFont(ViewStyles.MESSAGE_FONT);
             messageLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
             messagePanel.add(messageLabel);
 
             // 添加尝试次数
             JLabel attemptsLabel = new JLabel("Number of attempts: " + controller.getAttempts());
-            attemptsLabel.setFont(new Font("SF Pro Display", Font.PLAIN, 16));
+            attemptsLabel.setFont(ViewStyles.BUTTON_FONT);
             attemptsLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
             messagePanel.add(Box.createVerticalStrut(10));
             messagePanel.add(attemptsLabel);
@@ -687,6 +741,7 @@ public class View extends JFrame implements GameObserver {
 
             // 禁用游戏输入
             submitButton.setEnabled(false);
+            hintButton.setEnabled(false);
 
             // 显示对话框
             winDialog.setVisible(true);
@@ -694,60 +749,26 @@ public class View extends JFrame implements GameObserver {
     }
 
     private void addFinalWordToHistory() {
-        // 如果历史记录不为空，添加连接线
-        if (!historyLabels.isEmpty()) {
-            JPanel linePanel = new JPanel();
-            linePanel.setLayout(new BoxLayout(linePanel, BoxLayout.Y_AXIS));
-            linePanel.setBackground(Color.WHITE);
-
-            JLabel line = new JLabel("↓");
-            line.setFont(new Font("SF Pro Display", Font.PLAIN, 20));
-            line.setAlignmentX(Component.CENTER_ALIGNMENT);
-            linePanel.add(line);
-
-            historyPanel.add(linePanel);
-        }
-
-        // 创建目标单词的面板
-        JPanel wordPanel = new JPanel(new GridLayout(1, 4, 10, 0));
-        wordPanel.setBackground(Color.WHITE);
-        wordPanel.setMaximumSize(new Dimension(450, 70));
-        wordPanel.setMinimumSize(new Dimension(450, 70));
-        wordPanel.setPreferredSize(new Dimension(450, 70));
-
-        JLabel[] letterLabels = new JLabel[4];
         String targetWord = controller.getTargetWord();
-
-        for (int i = 0; i < 4; i++) {
-            letterLabels[i] = createLetterLabel(String.valueOf(targetWord.charAt(i)));
-            letterLabels[i].setBackground(appleGreen);
-            letterLabels[i].setForeground(Color.WHITE);
-            wordPanel.add(letterLabels[i]);
-        }
-
-        historyPanel.add(wordPanel);
-        historyPanel.add(Box.createVerticalStrut(5));
-        historyLabels.add(letterLabels);
-        historyPanel.revalidate();
-        historyPanel.repaint();
+        historyList.addWord(targetWord, (1 << targetWord.length()) - 1);
     }
 
     public void setController(Controller controller) {
         this.controller = controller;
-        // 确保View被注册为Model的观察者
+        // 确保View被注册为Model的事件监听器，使用类型化事件而不是解析字符串消息
         if (controller != null && controller.getModel() != null) {
-            controller.getModel().addGameObserver(this);
+            controller.getModel().addGameEventListener(this);
         }
     }
 
     public void setStartWord(String word) {
-        for (int i = 0; i < 4; i++) {
+        for (int i = 0; i < startWordLabels.length; i++) {
             startWordLabels[i].setText(String.valueOf(word.charAt(i)));
         }
     }
 
     public void setTargetWord(String word) {
-        for (int i = 0; i < 4; i++) {
+        for (int i = 0; i < targetWordLabels.length; i++) {
             targetWordLabels[i].setText(String.valueOf(word.charAt(i)));
         }
     }
@@ -757,34 +778,41 @@ public class View extends JFrame implements GameObserver {
     }
 
     public void clearFeedback() {
-        historyPanel.removeAll();
-        historyLabels.clear();
-        historyPanel.revalidate();
-        historyPanel.repaint();
+        // 上一局还没有应用的更新不再显示
+        updateScheduler.cancel();
+        historyList.clear();
     }
 
     private void restartGame() {
         // 请求新游戏
         if (controller != null) {
+            // 字典中没有所选长度的单词时继续当前这一局
+            int wordLength = (Integer) lengthSelector.getSelectedItem();
+            if (DictionaryRegistry.get(wordLength).size() == 0) {
+                JOptionPane.showMessageDialog(this, "Dictionary has no " + wordLength + "-letter words",
+                        "Weaver Game", JOptionPane.WARNING_MESSAGE);
+                lengthSelector.setSelectedItem(controller.getWordLength());
+                return;
+            }
+
             // 重置界面
             for (JTextField field : inputFields) {
                 field.setText("");
                 field.setBackground(Color.WHITE);
                 field.setForeground(Color.BLACK);
                 field.setEnabled(true);
-                field.setBorder(BorderFactory.createCompoundBorder(
-                        BorderFactory.createLineBorder(appleLightGray, 2),
-                        BorderFactory.createEmptyBorder(5, 5, 5, 5)));
+                field.setBorder(ViewStyles.TILE_BORDER);
             }
 
-            // 启用提交按钮
+            // 启用提交按钮和提示按钮
             submitButton.setEnabled(true);
+            hintButton.setEnabled(true);
 
             // 清空历史记录
             clearFeedback();
 
-            // 调用控制器重新开始游戏
-            controller.startNewGame();
+            // 调用控制器重新开始游戏，单词行按新的长度重建
+            controller.startNewGame(wordLength);
         }
     }
 }
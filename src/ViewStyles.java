@@ -0,0 +1,79 @@
+import javax.swing.BorderFactory;
+import javax.swing.border.Border;
+import java.awt.*;
+
+/**
+ * 图形界面共用的字体、颜色、边框和尺寸。这些对象都是不可变的，可以被任意多个组件共享，
+ * 创建组件和每一步更新反馈时直接取用，不再反复创建新的 Font、Border 和 Dimension，也不再反复查找字体。
+ */
+public final class ViewStyles {
+    static final String FONT_FAMILY = "SF Pro Display";
+
+    // 颜色
+    static final Color BLUE = new Color(0, 122, 255);
+    static final Color BLUE_HOVER = BLUE.darker();
+    static final Color BLUE_PRESSED = BLUE_HOVER.darker();
+    static final Color GRAY = new Color(142, 142, 147);
+    static final Color LIGHT_GRAY = new Color(229, 229, 234);
+    static final Color GREEN = new Color(52, 199, 89);
+    static final Color RED = new Color(255, 59, 48);
+    /** 反馈为 G（字母和位置都正确）的格子颜色 */
+    static final Color CORRECT = GREEN;
+    /** 反馈为 X 的格子颜色 */
+    static final Color INCORRECT = GRAY;
+
+    // 字体
+    static final Font TITLE_FONT = new Font(FONT_FAMILY, Font.BOLD, 24);
+    static final Font LETTER_FONT = TITLE_FONT;
+    static final Font CONTROL_FONT = new Font(FONT_FAMILY, Font.PLAIN, 14);
+    static final Font BUTTON_FONT = new Font(FONT_FAMILY, Font.PLAIN, 16);
+    static final Font KEY_FONT = new Font(FONT_FAMILY, Font.BOLD, 16);
+    static final Font DELETE_KEY_FONT = new Font(FONT_FAMILY, Font.BOLD, 20);
+    static final Font ARROW_FONT = new Font(FONT_FAMILY, Font.PLAIN, 20);
+    static final Font ICON_FONT = new Font(FONT_FAMILY, Font.PLAIN, 48);
+    static final Font MESSAGE_FONT = new Font(FONT_FAMILY, Font.BOLD, 18);
+
+    // 边框
+    static final Border KEY_BORDER = BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(LIGHT_GRAY, 1),
+            BorderFactory.createEmptyBorder(5, 5, 5, 5));
+    static final Border TILE_BORDER = tileBorder(LIGHT_GRAY);
+    static final Border FOCUSED_TILE_BORDER = tileBorder(BLUE);
+    static final Border CORRECT_TILE_BORDER = tileBorder(CORRECT);
+    static final Border INCORRECT_TILE_BORDER = tileBorder(INCORRECT);
+    static final Border FRAME_PADDING = BorderFactory.createEmptyBorder(10, 10, 10, 10);
+    static final Border PANEL_PADDING = BorderFactory.createEmptyBorder(20, 20, 20, 20);
+    static final Border NO_BORDER = BorderFactory.createEmptyBorder();
+
+    // 尺寸。Component.setXxxSize 保存的是传入的对象本身，这些实例不能被修改
+    static final Dimension BAR_SIZE = new Dimension(450, 40);
+    static final Dimension ROW_SIZE = new Dimension(450, 70);
+    static final Dimension TILE_SIZE = new Dimension(60, 60);
+    static final Dimension BUTTON_SIZE = new Dimension(120, 40);
+    static final Dimension HISTORY_SIZE = new Dimension(400, 200);
+
+    static final Cursor HAND_CURSOR = Cursor.getPredefinedCursor(Cursor.HAND_CURSOR);
+
+    private ViewStyles() {
+    }
+
+    /**
+     * @return 反馈为 G 或 X 时字母格的背景颜色
+     */
+    static Color feedbackColor(boolean correct) {
+        return correct ? CORRECT : INCORRECT;
+    }
+
+    /**
+     * @return 反馈为 G 或 X 时字母格的边框
+     */
+    static Border feedbackBorder(boolean correct) {
+        return correct ? CORRECT_TILE_BORDER : INCORRECT_TILE_BORDER;
+    }
+
+    private static Border tileBorder(Color color) {
+        return BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(color, 2),
+                BorderFactory.createEmptyBorder(5, 5, 5, 5));
+    }
+}
@@ -0,0 +1,151 @@
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * 图形界面的更新调度器：任意线程上到达的游戏事件先合并到待处理的批次中，每帧（最多约60Hz）只向EDT提交一个任务，
+ * 一次性应用这一帧内的全部变化。回放、观战或异步观察者集中投递时EDT不会被大量任务淹没：
+ * 输入框只按最新的反馈更新一次，历史记录一次追加这一帧内的所有步骤。
+ *
+ * 两个批次交替使用，一个在EDT上应用时另一个接收新事件，稳定运行时不分配对象。
+ */
+final class ViewUpdateScheduler {
+    static final int FRAME_MILLIS = 16;
+    private static final long FRAME_NANOS = FRAME_MILLIS * 1_000_000L;
+
+    private final Consumer<Batch> applier;
+    private final Timer timer;
+    // pending、spare 和 scheduled 由 this 保护
+    private Batch pending = new Batch();
+    private Batch spare = new Batch();
+    private boolean scheduled;
+    // 以下字段只在EDT上访问
+    private long lastFrame;
+    private boolean applying;
+
+    /**
+     * @param applier 在EDT上应用一个批次，返回后批次会被清空并重用，不能保留对它的引用
+     */
+    ViewUpdateScheduler(Consumer<Batch> applier) {
+        this.applier = applier;
+        this.timer = new Timer(FRAME_MILLIS, e -> flush());
+        timer.setRepeats(false);
+    }
+
+    /**
+     * 记录一步有效的输入及其反馈
+     *
+     * @param wordId   输入单词的字典id，未知时为-1
+     * @param feedback 打包的反馈
+     */
+    synchronized void feedback(int wordId, int feedback) {
+        pending.add(wordId, feedback);
+        requestFrame();
+    }
+
+    /**
+     * 记录游戏获胜
+     */
+    synchronized void gameWon() {
+        pending.won = true;
+        requestFrame();
+    }
+
+    /**
+     * 丢弃还没有应用的更新，开始新的一局时调用，避免上一局的事件出现在新的一局中
+     */
+    synchronized void cancel() {
+        pending.clear();
+    }
+
+    private void requestFrame() {
+        if (!scheduled) {
+            scheduled = true;
+            SwingUtilities.invokeLater(this::scheduleFrame);
+        }
+    }
+
+    // 距离上一帧不足一帧的时间时用计时器等到下一帧
+    private void scheduleFrame() {
+        long wait = lastFrame + FRAME_NANOS - System.nanoTime();
+        if (wait <= 0) {
+            flush();
+        } else {
+            timer.setInitialDelay((int) ((wait + 999_999) / 1_000_000));
+            timer.restart();
+        }
+    }
+
+    private void flush() {
+        if (applying) {
+            // 应用批次时打开了模态对话框，嵌套的事件循环中不能重用正在应用的批次，等到下一帧再处理
+            timer.setInitialDelay(FRAME_MILLIS);
+            timer.restart();
+            return;
+        }
+        lastFrame = System.nanoTime();
+        Batch batch;
+        synchronized (this) {
+            batch = pending;
+            pending = spare;
+            spare = batch;
+            scheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        applying = true;
+        try {
+            applier.accept(batch);
+        } finally {
+            applying = false;
+            batch.clear();
+        }
+    }
+
+    /**
+     * 一帧内合并后的更新：按顺序排列的有效输入（单词id和反馈），以及是否已经获胜
+     */
+    static final class Batch {
+        private int[] wordIds = new int[16];
+        private int[] feedback = new int[16];
+        private int count;
+        private boolean won;
+
+        private void add(int wordId, int bits) {
+            if (count == wordIds.length) {
+                wordIds = Arrays.copyOf(wordIds, count * 2);
+                feedback = Arrays.copyOf(feedback, count * 2);
+            }
+            wordIds[count] = wordId;
+            feedback[count] = bits;
+            count++;
+        }
+
+        private void clear() {
+            count = 0;
+            won = false;
+        }
+
+        boolean isEmpty() {
+            return count == 0 && !won;
+        }
+
+        int size() {
+            return count;
+        }
+
+        int wordIdAt(int index) {
+            return wordIds[index];
+        }
+
+        int feedbackAt(int index) {
+            return feedback[index];
+        }
+
+        boolean isWon() {
+            return won;
+        }
+    }
+}
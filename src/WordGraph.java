@@ -0,0 +1,210 @@
+import java.util.Arrays;
+
+/**
+ * 单词阶梯图：每个单词是一个节点（节点编号即 WordIndex 中的单词id），只相差一个字母的两个单词之间有一条边。
+ *
+ * 边以压缩稀疏行（CSR）格式存储：节点 i 的邻居是 neighbors[offsets[i] .. offsets[i + 1])，
+ * 每一行按id升序排列。构建时使用通配符分桶（例如 "_old"、"c_ld"），同一个桶中的单词两两相邻，
+ * 避免了 O(n²) 的两两比较。
+ */
+public final class WordGraph {
+    private static final int LETTER_BITS = WordIndex.BITS_PER_LETTER;
+    private static final int LETTER_MASK = (1 << LETTER_BITS) - 1;
+
+    private final int[] offsets;
+    private final int[] neighbors;
+    // 连通分量编号和各分量大小，第一次使用时计算
+    private volatile int[] componentIds;
+    private int[] componentSizes;
+
+    WordGraph(int[] offsets, int[] neighbors) {
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+    }
+
+    /**
+     * 根据字典构建单词图
+     *
+     * @param index 字典索引
+     * @return 构建好的单词图
+     */
+    public static WordGraph build(WordIndex index) {
+        int n = index.size();
+        int wordLength = index.getWordLength();
+
+        // 每个位置一张通配符桶表：bucketNext 把同一个桶中的单词串成链表
+        int capacity = Integer.highestOneBit(Math.max(n, 1) * 2 - 1) << 1;
+        int tableMask = capacity - 1;
+        int[][] bucketHeads = new int[wordLength][];
+        int[][] bucketNext = new int[wordLength][];
+        int[] degree = new int[n];
+        long[] slotKeys = new long[capacity];
+        for (int p = 0; p < wordLength; p++) {
+            long wildcard = ~((long) LETTER_MASK << (LETTER_BITS * (wordLength - 1 - p)));
+            int[] heads = new int[capacity];
+            int[] next = new int[n];
+            Arrays.fill(heads, -1);
+            Arrays.fill(slotKeys, 0);
+            for (int id = 0; id < n; id++) {
+                long masked = index.keyAt(id) & wildcard;
+                int slot = mix(masked) & tableMask;
+                while (heads[slot] != -1 && slotKeys[slot] != masked) {
+                    slot = (slot + 1) & tableMask;
+                }
+                slotKeys[slot] = masked;
+                // 桶中已有的每个单词都与当前单词相邻
+                for (int other = heads[slot]; other != -1; other = next[other]) {
+                    degree[id]++;
+                    degree[other]++;
+                }
+                next[id] = heads[slot];
+                heads[slot] = id;
+            }
+            bucketHeads[p] = heads;
+            bucketNext[p] = next;
+        }
+
+        int[] offsets = new int[n + 1];
+        for (int id = 0; id < n; id++) {
+            offsets[id + 1] = offsets[id] + degree[id];
+        }
+        int[] neighbors = new int[offsets[n]];
+        int[] fill = Arrays.copyOf(offsets, n);
+        for (int p = 0; p < wordLength; p++) {
+            int[] heads = bucketHeads[p];
+            int[] next = bucketNext[p];
+            for (int head : heads) {
+                for (int a = head; a != -1; a = next[a]) {
+                    for (int b = next[a]; b != -1; b = next[b]) {
+                        neighbors[fill[a]++] = b;
+                        neighbors[fill[b]++] = a;
+                    }
+                }
+            }
+        }
+        for (int id = 0; id < n; id++) {
+            Arrays.sort(neighbors, offsets[id], offsets[id + 1]);
+        }
+        return new WordGraph(offsets, neighbors);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * 检查两个单词是否相邻（只相差一个字母）
+     *
+     * @param from 第一个单词id
+     * @param to   第二个单词id
+     * @return 如果相邻返回true
+     */
+    public boolean isAdjacent(int from, int to) {
+        if (from < 0 || to < 0) {
+            return false;
+        }
+        return Arrays.binarySearch(neighbors, offsets[from], offsets[from + 1], to) >= 0;
+    }
+
+    /**
+     * 获取单词所在连通分量的编号，同一分量中的任意两个单词都可以互相到达
+     *
+     * @param id 单词id
+     * @return 连通分量编号
+     */
+    public int componentOf(int id) {
+        return components()[id];
+    }
+
+    /**
+     * 获取单词所在连通分量包含的单词数
+     *
+     * @param id 单词id
+     * @return 连通分量大小
+     */
+    public int componentSize(int id) {
+        int[] ids = components();
+        return componentSizes[ids[id]];
+    }
+
+    private int[] components() {
+        int[] ids = componentIds;
+        if (ids == null) {
+            synchronized (this) {
+                ids = componentIds;
+                if (ids == null) {
+                    ids = computeComponents();
+                    componentIds = ids;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private int[] computeComponents() {
+        int n = nodeCount();
+        int[] ids = new int[n];
+        Arrays.fill(ids, -1);
+        int[] queue = new int[n];
+        int[] sizes = new int[n];
+        int count = 0;
+        for (int root = 0; root < n; root++) {
+            if (ids[root] != -1) {
+                continue;
+            }
+            int head = 0, tail = 0;
+            queue[tail++] = root;
+            ids[root] = count;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int p = offsets[u], end = offsets[u + 1]; p < end; p++) {
+                    int v = neighbors[p];
+                    if (ids[v] == -1) {
+                        ids[v] = count;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            sizes[count++] = tail;
+        }
+        // componentSizes 在 volatile 写 componentIds 之前赋值，读到 componentIds 的线程也能看到它
+        componentSizes = Arrays.copyOf(sizes, count);
+        return ids;
+    }
+
+    public int nodeCount() {
+        return offsets.length - 1;
+    }
+
+    public int edgeCount() {
+        return neighbors.length / 2;
+    }
+
+    public int degree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * 邻接行的起始位置，与 rowEnd、neighborAt 一起遍历节点的邻居而不需要复制数组
+     */
+    public int rowStart(int id) {
+        return offsets[id];
+    }
+
+    public int rowEnd(int id) {
+        return offsets[id + 1];
+    }
+
+    public int neighborAt(int position) {
+        return neighbors[position];
+    }
+
+    int[] offsets() {
+        return offsets;
+    }
+
+    int[] neighbors() {
+        return neighbors;
+    }
+}
@@ -0,0 +1,193 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 图形界面中的猜测历史。每一步只是列表模型中的一个条目（单词和打包的反馈），
+ * 所有行共用同一个渲染器直接绘制字母格和连接箭头，行高固定，因此 JList 只绘制可见的行，
+ * 添加一步的开销与已有的步数无关，不会随着历史变长而变慢。
+ */
+public class WordHistoryList extends JList<WordHistoryList.Entry> {
+    private static final long serialVersionUID = 1L;
+
+    static final int TILE_HEIGHT = 60;
+    static final int TILE_GAP = 10;
+    static final int ARROW_HEIGHT = 24;
+    static final int ROW_GAP = 6;
+    static final int ROW_HEIGHT = ARROW_HEIGHT + TILE_HEIGHT + ROW_GAP;
+    /** 列表的最小宽度，实际宽度随滚动面板变化 */
+    static final int MIN_WIDTH = 200;
+
+    private final Entries entries = new Entries();
+
+    public WordHistoryList() {
+        setModel(entries);
+        setCellRenderer(new Renderer());
+        // 固定行高和宽度后 JList 不再逐行测量渲染器
+        setFixedCellHeight(ROW_HEIGHT);
+        setFixedCellWidth(MIN_WIDTH);
+        setBackground(Color.WHITE);
+        setFocusable(false);
+        setSelectionModel(new DefaultListSelectionModel() {
+            @Override
+            public void setSelectionInterval(int index0, int index1) {
+                // 历史记录只用于显示，不允许选中
+            }
+
+            @Override
+            public void addSelectionInterval(int index0, int index1) {
+            }
+        });
+    }
+
+    /**
+     * 在历史末尾添加一步并滚动到这一步
+     *
+     * @param word     玩家输入的单词
+     * @param feedback 打包的反馈
+     */
+    public void addWord(String word, int feedback) {
+        entries.add(new Entry(word, feedback));
+        entries.added(1);
+        ensureIndexIsVisible(entries.getSize() - 1);
+    }
+
+    /**
+     * 在历史末尾一次添加多步，只触发一次列表更新和一次滚动
+     *
+     * @param words    玩家依次输入的单词
+     * @param feedback 对应的打包反馈
+     * @param count    步数
+     */
+    public void addWords(String[] words, int[] feedback, int count) {
+        if (count == 0) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            entries.add(new Entry(words[i], feedback[i]));
+        }
+        entries.added(count);
+        ensureIndexIsVisible(entries.getSize() - 1);
+    }
+
+    /**
+     * 清空历史
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int getEntryCount() {
+        return entries.getSize();
+    }
+
+    /**
+     * 只支持追加和清空的列表模型，追加多步时只通知一次
+     */
+    private static final class Entries extends AbstractListModel<Entry> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Entry> list = new ArrayList<>();
+
+        void add(Entry entry) {
+            list.add(entry);
+        }
+
+        // 通知监听者最后 count 个条目是新添加的
+        void added(int count) {
+            fireIntervalAdded(this, list.size() - count, list.size() - 1);
+        }
+
+        void clear() {
+            int size = list.size();
+            if (size > 0) {
+                list.clear();
+                fireIntervalRemoved(this, 0, size - 1);
+            }
+        }
+
+        @Override
+        public int getSize() {
+            return list.size();
+        }
+
+        @Override
+        public Entry getElementAt(int index) {
+            return list.get(index);
+        }
+    }
+
+    /**
+     * 历史中的一步
+     */
+    static final class Entry {
+        final String word;
+        final int feedback;
+
+        Entry(String word, int feedback) {
+            this.word = word;
+            this.feedback = feedback;
+        }
+    }
+
+    /**
+     * 所有行共用的渲染器：每次 getListCellRendererComponent 只记下要画的条目，在 paintComponent 中按当前宽度绘制
+     */
+    private static final class Renderer extends JComponent implements ListCellRenderer<Entry> {
+        private static final long serialVersionUID = 1L;
+
+        private Entry entry;
+        private boolean first;
+
+        Renderer() {
+            setOpaque(true);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Entry> list, Entry value, int index,
+                boolean isSelected, boolean cellHasFocus) {
+            this.entry = value;
+            this.first = index == 0;
+            return this;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            try {
+                g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                g2.setColor(Color.WHITE);
+                g2.fillRect(0, 0, getWidth(), getHeight());
+
+                // 与上一步之间的连接箭头
+                if (!first) {
+                    g2.setFont(ViewStyles.ARROW_FONT);
+                    g2.setColor(Color.BLACK);
+                    drawCentered(g2, "↓", 0, 0, getWidth(), ARROW_HEIGHT);
+                }
+
+                // 与 GridLayout 相同的方式平均分配各个字母格的宽度
+                int length = entry.word.length();
+                int tileWidth = Math.max(1, (getWidth() - TILE_GAP * (length - 1)) / length);
+                int x = (getWidth() - tileWidth * length - TILE_GAP * (length - 1)) / 2;
+                g2.setFont(ViewStyles.LETTER_FONT);
+                for (int i = 0; i < length; i++) {
+                    g2.setColor(ViewStyles.feedbackColor(Feedback.isCorrect(entry.feedback, i, length)));
+                    g2.fillRect(x, ARROW_HEIGHT, tileWidth, TILE_HEIGHT);
+                    g2.setColor(Color.WHITE);
+                    drawCentered(g2, String.valueOf(entry.word.charAt(i)), x, ARROW_HEIGHT, tileWidth, TILE_HEIGHT);
+                    x += tileWidth + TILE_GAP;
+                }
+            } finally {
+                g2.dispose();
+            }
+        }
+
+        private static void drawCentered(Graphics2D g2, String text, int x, int y, int width, int height) {
+            FontMetrics metrics = g2.getFontMetrics();
+            g2.drawString(text, x + (width - metrics.stringWidth(text)) / 2,
+                    y + (height - metrics.getHeight()) / 2 + metrics.getAscent());
+        }
+    }
+}
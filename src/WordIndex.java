@@ -0,0 +1,210 @@
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.zip.CRC32;
+
+/**
+ * 字典索引：把每个单词按每个字母5位打包成一个long键，并存放在开放寻址的原始类型哈希表中，
+ * 查询时不需要分配任何对象。8个字母需要40位，超出了int的范围，所以键使用long。
+ *
+ * 单词的id按字母顺序分配（打包后的键的大小顺序与字母顺序一致），可以通过 wordAt 取回单词。
+ */
+public final class WordIndex {
+    /** 每个字母占用的位数，'a'..'z' 编码为 1..26，0 保留作通配符 */
+    static final int BITS_PER_LETTER = 5;
+    /** 可以打包的最大单词长度 */
+    static final int MAX_WORD_LENGTH = 12;
+    private static final int LETTER_MASK = (1 << BITS_PER_LETTER) - 1;
+    private static final int EMPTY = 0;
+
+    private final int wordLength;
+    private final String[] words;
+    private final long[] sortedKeys;
+    // 开放寻址表：slotKeys[i] == EMPTY 表示空槽，slotIds[i] 为对应单词的id
+    private final long[] slotKeys;
+    private final int[] slotIds;
+    private final int mask;
+    private volatile WordGraph graph;
+
+    public WordIndex(Collection<String> words, int wordLength) {
+        this(sortedUniqueKeys(words, wordLength), wordLength, null);
+    }
+
+    /**
+     * 直接由已排序、无重复的键构建索引，用于加载预编译的二进制字典
+     *
+     * @param sortedKeys 升序排列且无重复的打包键
+     * @param wordLength 单词长度
+     * @param graph      预先构建好的单词图，为 null 时第一次使用再构建
+     */
+    WordIndex(long[] sortedKeys, int wordLength, WordGraph graph) {
+        this.wordLength = wordLength;
+        this.sortedKeys = sortedKeys;
+        this.graph = graph;
+        int count = sortedKeys.length;
+        this.words = new String[count];
+        for (int id = 0; id < count; id++) {
+            this.words[id] = unpack(sortedKeys[id], wordLength);
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(count, 1) * 2 - 1) << 1;
+        this.slotKeys = new long[capacity];
+        this.slotIds = new int[capacity];
+        this.mask = capacity - 1;
+        for (int id = 0; id < count; id++) {
+            int slot = mix(sortedKeys[id]) & mask;
+            while (slotKeys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            slotKeys[slot] = sortedKeys[id];
+            slotIds[slot] = id;
+        }
+    }
+
+    private static long[] sortedUniqueKeys(Collection<String> words, int wordLength) {
+        long[] keys = new long[words.size()];
+        int count = 0;
+        for (String word : words) {
+            long key = pack(word, wordLength);
+            if (key != -1) {
+                keys[count++] = key;
+            }
+        }
+        keys = Arrays.copyOf(keys, count);
+        Arrays.sort(keys);
+        // 去重
+        int unique = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (unique == 0 || keys[unique - 1] != keys[i]) {
+                keys[unique++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, unique);
+    }
+
+    /**
+     * 把单词打包成long键
+     *
+     * @param word       要打包的单词
+     * @param wordLength 要求的单词长度
+     * @return 打包后的键；如果长度不符或含有 a-z 以外的字符则返回 -1
+     */
+    public static long pack(CharSequence word, int wordLength) {
+        if (word == null || word.length() != wordLength || wordLength > MAX_WORD_LENGTH) {
+            return -1;
+        }
+        long key = 0;
+        for (int i = 0; i < wordLength; i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return -1;
+            }
+            key = (key << BITS_PER_LETTER) | (c - 'a' + 1);
+        }
+        return key;
+    }
+
+    static String unpack(long key, int wordLength) {
+        char[] chars = new char[wordLength];
+        for (int i = wordLength - 1; i >= 0; i--) {
+            chars[i] = (char) ('a' - 1 + (int) (key & LETTER_MASK));
+            key >>>= BITS_PER_LETTER;
+        }
+        return new String(chars);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * 根据打包后的键查找单词id
+     *
+     * @param key 打包后的键
+     * @return 单词id，不存在时返回 -1
+     */
+    public int indexOfKey(long key) {
+        if (key <= 0) {
+            return -1;
+        }
+        int slot = mix(key) & mask;
+        long k;
+        while ((k = slotKeys[slot]) != EMPTY) {
+            if (k == key) {
+                return slotIds[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * 查找单词id
+     *
+     * @param word 要查找的单词（必须是小写）
+     * @return 单词id，不存在时返回 -1
+     */
+    public int indexOf(CharSequence word) {
+        return indexOfKey(pack(word, wordLength));
+    }
+
+    /**
+     * 检查单词是否在字典中
+     *
+     * @param word 要检查的单词（必须是小写）
+     * @return 如果单词在字典中返回true
+     */
+    public boolean contains(CharSequence word) {
+        return indexOf(word) != -1;
+    }
+
+    public String wordAt(int id) {
+        return words[id];
+    }
+
+    public long keyAt(int id) {
+        return sortedKeys[id];
+    }
+
+    /**
+     * 获取该字典的单词阶梯图，第一次调用时构建并缓存
+     *
+     * @return 单词图
+     */
+    public WordGraph graph() {
+        WordGraph g = graph;
+        if (g == null) {
+            synchronized (this) {
+                g = graph;
+                if (g == null) {
+                    g = WordGraph.build(this);
+                    graph = g;
+                }
+            }
+        }
+        return g;
+    }
+
+    /**
+     * 字典内容的指纹，用于检查预计算文件是否由同一份字典生成
+     *
+     * @return 所有键的CRC32值
+     */
+    public long fingerprint() {
+        CRC32 crc = new CRC32();
+        for (long key : sortedKeys) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                crc.update((int) (key >>> shift));
+            }
+        }
+        return crc.getValue();
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+}
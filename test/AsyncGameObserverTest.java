@@ -0,0 +1,105 @@
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+
+public class AsyncGameObserverTest {
+
+    // A gate that holds the delivery thread so the queue fills up deterministically
+    private static class BlockingObserver implements GameObserver {
+        final CountDownLatch gate = new CountDownLatch(1);
+        final List<String> received = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void onGameUpdate(String message) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(message);
+        }
+    }
+
+    private static List<String> deliverTen(AsyncGameObserver.BackpressurePolicy policy) throws Exception {
+        BlockingObserver target = new BlockingObserver();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AsyncGameObserver observer = new AsyncGameObserver(target, policy, 4, executor);
+        observer.onGameUpdate("m0"); // taken by the delivery thread, which then waits on the gate
+        while (observer.getPendingCount() != 0) {
+            Thread.yield();
+        }
+        for (int i = 1; i < 10; i++) {
+            observer.onGameUpdate("m" + i);
+        }
+        target.gate.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        return target.received;
+    }
+
+    @Test
+    public void testDropKeepsOldestMessages() throws Exception {
+        assertEquals(List.of("m0", "m1", "m2", "m3", "m4"), deliverTen(AsyncGameObserver.BackpressurePolicy.DROP));
+    }
+
+    @Test
+    public void testCoalesceKeepsNewestMessages() throws Exception {
+        assertEquals(List.of("m0", "m6", "m7", "m8", "m9"), deliverTen(AsyncGameObserver.BackpressurePolicy.COALESCE));
+    }
+
+    // An Error thrown by the delegate must not leave the observer without a delivery thread
+    @Test
+    public void testDeliveryContinuesAfterError() throws Exception {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch delivered = new CountDownLatch(2);
+        GameObserver target = message -> {
+            if (message.equals("fail")) {
+                throw new AssertionError("observer failure");
+            }
+            received.add(message);
+            delivered.countDown();
+        };
+        // The rethrown Error ends the delivery thread; record it instead of letting it reach the default handler
+        List<Throwable> uncaught = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task);
+            thread.setUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+            return thread;
+        });
+        AsyncGameObserver observer = new AsyncGameObserver(target, AsyncGameObserver.BackpressurePolicy.BLOCK, 4,
+                executor);
+        observer.onGameUpdate("fail");
+        observer.onGameUpdate("m1");
+        observer.onGameUpdate("m2");
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("m1", "m2"), received);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(1, uncaught.size());
+        assertTrue(uncaught.get(0) instanceof AssertionError);
+        assertEquals("observer failure", uncaught.get(0).getMessage());
+    }
+
+    // Model delivers through the async wrapper and can remove it by the original observer
+    @Test
+    public void testModelAsyncRegistration() throws Exception {
+        Model model = new Model(false);
+        CountDownLatch delivered = new CountDownLatch(1);
+        GameObserver observer = message -> delivered.countDown();
+        model.addAsyncGameObserver(observer, AsyncGameObserver.BackpressurePolicy.BLOCK);
+        model.processWord("xxxx");
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+
+        model.removeGameObserver(observer);
+        model.addGameObserver(observer);
+        model.addGameObserver(observer);
+        model.removeGameObserver(observer);
+        model.processWord("xxxx"); // no observers left; must not throw
+    }
+}
@@ -0,0 +1,74 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import static org.junit.Assert.*;
+
+public class BatchReplayTest {
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("transcripts", ".txt");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testReplayTranscript() throws IOException {
+        String transcript = "# recorded games\n"
+                + "cold warm cord card ward warm\n"
+                + "\n"
+                + "cold warm zzzz WARM cord\r\n"
+                + "xxxx warm cord\n"
+                + "cold warm cord card ward warm warm";
+        Files.write(file.toPath(), transcript.getBytes(StandardCharsets.US_ASCII));
+
+        // Tiny chunks put chunk boundaries inside lines
+        for (int chunkSize : new int[] { 1, 7, 1 << 20 }) {
+            BatchReplay.Stats stats = new BatchReplay(DictionaryRegistry.get(), 3, chunkSize).replay(file);
+            assertEquals(3, stats.getGames());
+            assertEquals(1, stats.getSkipped());
+            assertEquals(2, stats.getWins());
+            assertEquals(12, stats.getMoves());
+            assertEquals(2, stats.outcomeCount(GameEvent.Kind.GAME_WON));
+            assertEquals(1, stats.outcomeCount(GameEvent.Kind.GAME_ALREADY_OVER));
+            assertEquals(1, stats.outcomeCount(GameEvent.Kind.ERROR_NOT_IN_DICTIONARY));
+            assertEquals(1, stats.outcomeCount(GameEvent.Kind.ERROR_NOT_ONE_LETTER));
+            assertEquals(7, stats.outcomeCount(GameEvent.Kind.FEEDBACK));
+        }
+    }
+
+    // Lines are replayed against the dictionary passed in, and a restart ends the line
+    @Test
+    public void testReplayWithOwnDictionaryAndRestart() throws IOException {
+        WordIndex dictionary = new WordIndex(java.util.Arrays.asList("cold", "cord", "card", "ward", "warm"), 4);
+        String transcript = "cold warm cord card ward warm\n"
+                + "cold warm cord restart card ward\n";
+        Files.write(file.toPath(), transcript.getBytes(StandardCharsets.US_ASCII));
+
+        BatchReplay.Stats stats = new BatchReplay(dictionary, 1).replay(file);
+        assertEquals(2, stats.getGames());
+        assertEquals(1, stats.getWins());
+        assertEquals(6, stats.getMoves());
+        assertEquals(1, stats.outcomeCount(GameEvent.Kind.GAME_WON));
+        assertEquals(4, stats.outcomeCount(GameEvent.Kind.FEEDBACK));
+    }
+
+    // Generated optimal transcripts are all won at par
+    @Test
+    public void testGeneratedTranscripts() throws IOException {
+        ReplayApp.generate(DictionaryRegistry.get(), file, 200, new Random(7));
+        BatchReplay.Stats stats = new BatchReplay(DictionaryRegistry.get(), 2).replay(file);
+        assertEquals(200, stats.getGames());
+        assertEquals(200, stats.getWins());
+        assertEquals(0, stats.outcomeCount(GameEvent.Kind.GAME_ALREADY_OVER));
+    }
+}
@@ -0,0 +1,49 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import static org.junit.Assert.*;
+
+public class CompiledDictionaryTest {
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("dictionary", ".bin");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    // The compiled file restores the same ids and the same graph without rebuilding it
+    @Test
+    public void testRoundTrip() throws IOException {
+        WordIndex original = DictionaryRegistry.load(DictionaryRegistry.DEFAULT_PATH);
+        CompiledDictionary.write(original, file);
+        WordIndex loaded = CompiledDictionary.read(file);
+
+        assertEquals(original.size(), loaded.size());
+        assertEquals(original.fingerprint(), loaded.fingerprint());
+        assertEquals(original.indexOf("cold"), loaded.indexOf("cold"));
+        assertEquals("warm", loaded.wordAt(loaded.indexOf("warm")));
+        assertEquals(original.graph().edgeCount(), loaded.graph().edgeCount());
+        assertTrue(loaded.graph().isAdjacent(loaded.indexOf("cold"), loaded.indexOf("cord")));
+        assertFalse(loaded.graph().isAdjacent(loaded.indexOf("cold"), loaded.indexOf("warm")));
+    }
+
+    @Test(expected = IOException.class)
+    public void testCorruptionIsDetected() throws IOException {
+        CompiledDictionary.write(DictionaryRegistry.load(DictionaryRegistry.DEFAULT_PATH), file);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(40);
+            int b = raf.read();
+            raf.seek(40);
+            raf.write(b ^ 1);
+        }
+        CompiledDictionary.read(file);
+    }
+}
@@ -0,0 +1,61 @@
+import org.junit.Test;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class DistanceFieldCacheTest {
+    private final WordIndex dictionary = DictionaryRegistry.get();
+
+    // Repeated lookups of the same target share one computed field
+    @Test
+    public void testHitsAndMisses() {
+        DistanceFieldCache cache = new DistanceFieldCache(dictionary, DistanceFieldCache.DEFAULT_MAX_BYTES);
+        int target = dictionary.indexOf("warm");
+        DistanceField field = cache.get(target);
+        assertSame(field, cache.get(target));
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(0, field.distance(target));
+        assertEquals(new LadderSolver(dictionary).distance("cold", "warm"), field.distance(dictionary.indexOf("cold")));
+    }
+
+    // Concurrent misses on the same target compute the field only once
+    @Test
+    public void testSingleFlight() throws Exception {
+        DistanceFieldCache cache = new DistanceFieldCache(dictionary, DistanceFieldCache.DEFAULT_MAX_BYTES);
+        int target = dictionary.indexOf("cold");
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<DistanceField>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return cache.get(target);
+            }));
+        }
+        start.countDown();
+        DistanceField first = results.get(0).get();
+        for (Future<DistanceField> result : results) {
+            assertSame(first, result.get());
+        }
+        pool.shutdown();
+        assertEquals(1, cache.getMisses());
+        assertEquals(7, cache.getHits());
+    }
+
+    // The byte budget bounds the number of cached fields
+    @Test
+    public void testEviction() {
+        // One field per segment
+        DistanceFieldCache cache = new DistanceFieldCache(dictionary, 1);
+        for (int id = 0; id < 64; id++) {
+            cache.get(id);
+        }
+        assertEquals(16, cache.size());
+        assertEquals(48, cache.getEvictions());
+    }
+}
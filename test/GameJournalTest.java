@@ -0,0 +1,231 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+
+public class GameJournalTest {
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("journal").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    // Records written across several small segments come back in order, and appending resumes after reopening
+    @Test
+    public void testAppendRollAndReplay() throws Exception {
+        int segmentSize = GameJournal.RECORD_SIZE * 4;
+        try (GameJournal journal = new GameJournal(directory, segmentSize, 1000)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(7, GameJournal.MOVE, i, 0, i + 1);
+            }
+        }
+        try (GameJournal journal = new GameJournal(directory, segmentSize, 1000)) {
+            assertEquals(10L * GameJournal.RECORD_SIZE, journal.position());
+            journal.append(7, GameJournal.CLOSE, -1, 0, 0);
+        }
+
+        List<Integer> words = new ArrayList<>();
+        long end = GameJournal.replay(directory, GameJournal.RECORD_SIZE * 3, segmentSize,
+                (sessionId, timestamp, type, wordId, aux, attempt) -> words.add(type == GameJournal.CLOSE ? -1 : wordId));
+        assertEquals(List.of(3, 4, 5, 6, 7, 8, 9, -1), words);
+        assertEquals(11L * GameJournal.RECORD_SIZE, end);
+    }
+
+    // An append only waits for the in-memory copy, not for a force that is still writing pages to disk
+    @Test
+    public void testAppendNotBlockedBySync() throws Exception {
+        CountDownLatch forcing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GameJournal journal = new GameJournal(directory, GameJournal.RECORD_SIZE * 64, 60_000) {
+            @Override
+            void force(MappedByteBuffer buffer) {
+                forcing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.force(buffer);
+            }
+        };
+        try {
+            journal.append(1, GameJournal.START, 0, 1, 2);
+            Thread syncer = new Thread(journal::sync);
+            syncer.start();
+            assertTrue(forcing.await(5, TimeUnit.SECONDS));
+
+            CompletableFuture.runAsync(() -> journal.append(1, GameJournal.MOVE, 3, 0, 1)).get(5, TimeUnit.SECONDS);
+            assertEquals(2L * GameJournal.RECORD_SIZE, journal.position());
+
+            release.countDown();
+            syncer.join(5000);
+            assertFalse(syncer.isAlive());
+        } finally {
+            release.countDown();
+            journal.close();
+        }
+        List<Integer> types = new ArrayList<>();
+        GameJournal.replay(directory, 0, (sessionId, timestamp, type, wordId, aux, attempt) -> types.add(type));
+        assertEquals(List.of(GameJournal.START, GameJournal.MOVE), types);
+    }
+
+    // A session engine rebuilt from the journal has the same games as the one that wrote it
+    @Test
+    public void testSessionEngineRecovery() throws Exception {
+        WordIndex dictionary = DictionaryRegistry.get();
+        Puzzle puzzle = new Puzzle(dictionary.indexOf("cold"), dictionary.indexOf("warm"), 4);
+        long playing, won, closed;
+        try (GameJournal journal = new GameJournal(directory)) {
+            SessionEngine engine = new SessionEngine(random -> puzzle, journal);
+            playing = engine.createSession();
+            won = engine.createSession();
+            closed = engine.createSession();
+            engine.submit(playing, "cord");
+            engine.submit(playing, "xxxx");
+            for (String word : new String[] { "cord", "card", "ward", "warm" }) {
+                engine.submit(won, word);
+            }
+            engine.closeSession(closed);
+        }
+
+        SessionEngine recovered = new SessionEngine(random -> puzzle);
+        recovered.replayJournal(directory, 0);
+        assertEquals(2, recovered.size());
+        assertEquals(1, recovered.getSession(playing).getAttempts());
+        assertEquals("Feedback: XXXX", recovered.submit(playing, "cold")); // last word was restored as cord
+        assertEquals(4, recovered.getSession(won).getAttempts());
+        assertTrue(((Model) recovered.getSession(won)).isGameWon());
+        assertNull(recovered.getSession(closed));
+        assertTrue(recovered.createSession() > closed);
+    }
+
+    // Recovery uses the segment size the journal was written with, not the default one
+    @Test
+    public void testRecoveryWithCustomSegmentSize() throws Exception {
+        WordIndex dictionary = DictionaryRegistry.get();
+        Puzzle puzzle = new Puzzle(dictionary.indexOf("cold"), dictionary.indexOf("warm"), 4);
+        int segmentSize = GameJournal.RECORD_SIZE * 3;
+        long session;
+        try (GameJournal journal = new GameJournal(directory, segmentSize, 1000)) {
+            SessionEngine engine = new SessionEngine(random -> puzzle, journal);
+            session = engine.createSession();
+            for (String word : new String[] { "cord", "card", "ward" }) {
+                engine.submit(session, word);
+            }
+        }
+        try (GameJournal reopened = new GameJournal(directory)) {
+            assertEquals(segmentSize, reopened.getSegmentSize());
+            assertEquals(4L * GameJournal.RECORD_SIZE, reopened.position());
+        }
+
+        SessionEngine recovered = new SessionEngine(random -> puzzle);
+        assertEquals(4L * GameJournal.RECORD_SIZE, recovered.replayJournal(directory, 0));
+        assertEquals(3, recovered.getSession(session).getAttempts());
+        assertEquals(GameEvent.GAME_WON.getMessage(), recovered.submit(session, "warm"));
+    }
+
+    // Recovery loads the snapshot and replays only the moves journaled after it
+    @Test
+    public void testSnapshotPlusJournalTail() throws Exception {
+        WordIndex dictionary = DictionaryRegistry.get();
+        Puzzle puzzle = new Puzzle(dictionary.indexOf("cold"), dictionary.indexOf("warm"), 4);
+        File journalDirectory = new File(directory, "journal");
+        File snapshotDirectory = new File(directory, "snapshots");
+        long first, second;
+        try (GameJournal journal = new GameJournal(journalDirectory)) {
+            SessionEngine engine = new SessionEngine(random -> puzzle, journal);
+            first = engine.createSession();
+            second = engine.createSession();
+            engine.submit(first, "cord");
+            SessionSnapshots.write(engine, snapshotDirectory);
+            engine.submit(first, "card");
+            engine.restart(second);
+            engine.submit(second, "cord");
+        }
+
+        SessionEngine recovered = new SessionEngine(random -> puzzle);
+        assertEquals(2, SessionSnapshots.recover(recovered, snapshotDirectory, journalDirectory));
+        assertEquals(2, recovered.getSession(first).getAttempts());
+        assertEquals(1, recovered.getSession(second).getAttempts());
+        recovered.submit(first, "ward");
+        assertEquals(GameEvent.GAME_WON.getMessage(), recovered.submit(first, "warm"));
+
+        for (File sub : new File[] { journalDirectory, snapshotDirectory }) {
+            for (File file : sub.listFiles()) {
+                file.delete();
+            }
+            sub.delete();
+        }
+    }
+
+    // A damaged newest snapshot falls back to the previous one; with no usable snapshot the whole journal is replayed
+    @Test
+    public void testRecoveryFromDamagedSnapshots() throws Exception {
+        WordIndex dictionary = DictionaryRegistry.get();
+        Puzzle puzzle = new Puzzle(dictionary.indexOf("cold"), dictionary.indexOf("warm"), 4);
+        File journalDirectory = new File(directory, "journal");
+        File snapshotDirectory = new File(directory, "snapshots");
+        long session;
+        try (GameJournal journal = new GameJournal(journalDirectory)) {
+            SessionEngine engine = new SessionEngine(random -> puzzle, journal);
+            session = engine.createSession();
+            engine.submit(session, "cord");
+            SessionSnapshots.write(engine, snapshotDirectory);
+            engine.submit(session, "card");
+            SessionSnapshots.write(engine, snapshotDirectory);
+            engine.submit(session, "ward");
+        }
+        File[] snapshots = snapshotDirectory.listFiles();
+        Arrays.sort(snapshots);
+        assertEquals(2, snapshots.length);
+
+        try (RandomAccessFile newest = new RandomAccessFile(snapshots[1], "rw")) {
+            newest.setLength(newest.length() - 4);
+        }
+        SessionEngine fromPrevious = new SessionEngine(random -> puzzle);
+        assertEquals(1, SessionSnapshots.recover(fromPrevious, snapshotDirectory, journalDirectory));
+        assertEquals(3, fromPrevious.getSession(session).getAttempts());
+
+        try (RandomAccessFile previous = new RandomAccessFile(snapshots[0], "rw")) {
+            // Flip a bit in the session record's par distance so the checksum no longer matches
+            long offset = previous.length() - 18;
+            previous.seek(offset);
+            int value = previous.readByte();
+            previous.seek(offset);
+            previous.writeByte(value ^ 1);
+        }
+        SessionEngine fromJournal = new SessionEngine(random -> puzzle);
+        assertEquals(1, SessionSnapshots.recover(fromJournal, snapshotDirectory, journalDirectory));
+        assertEquals(3, fromJournal.getSession(session).getAttempts());
+        assertEquals(GameEvent.GAME_WON.getMessage(), fromJournal.submit(session, "warm"));
+
+        for (File sub : new File[] { journalDirectory, snapshotDirectory }) {
+            for (File file : sub.listFiles()) {
+                file.delete();
+            }
+            sub.delete();
+        }
+    }
+}
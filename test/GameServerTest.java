@@ -0,0 +1,88 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import static org.junit.Assert.*;
+
+public class GameServerTest {
+    private GameServer server;
+    private int port;
+
+    @Before
+    public void setUp() throws Exception {
+        WordIndex dictionary = DictionaryRegistry.get();
+        Puzzle puzzle = new Puzzle(dictionary.indexOf("cold"), dictionary.indexOf("warm"), 4);
+        server = new GameServer(new SessionEngine(random -> puzzle));
+        port = server.start(0);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    private Socket connect() throws Exception {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        socket.setSoTimeout(5000);
+        return socket;
+    }
+
+    private static BufferedReader reader(Socket socket) throws Exception {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static void send(Socket socket, String line) throws Exception {
+        OutputStream out = socket.getOutputStream();
+        out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private void awaitSessionCount(int expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (server.getSessionCount() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, server.getSessionCount());
+    }
+
+    // A connection gets the start banner, can play and restart, and its session is closed on disconnect
+    @Test
+    public void testPlayRestartAndDisconnect() throws Exception {
+        try (Socket socket = connect()) {
+            BufferedReader in = reader(socket);
+            assertEquals("Start word: cold", in.readLine());
+            assertEquals("Target word: warm", in.readLine());
+            awaitSessionCount(1);
+
+            send(socket, "cord");
+            assertEquals("Feedback: XXGX", in.readLine());
+            send(socket, "xxxx");
+            assertEquals("Error: Word not in dictionary", in.readLine());
+
+            send(socket, "restart");
+            assertEquals("=== Game Restarted ===", in.readLine());
+            assertEquals("Start word: cold", in.readLine());
+            assertEquals("Target word: warm", in.readLine());
+        }
+        awaitSessionCount(0);
+    }
+
+    // A line longer than the limit is rejected and the connection is closed without buffering the rest
+    @Test
+    public void testOverlongLineClosesConnection() throws Exception {
+        try (Socket socket = connect()) {
+            BufferedReader in = reader(socket);
+            in.readLine();
+            in.readLine();
+            send(socket, "a".repeat(GameServer.MAX_LINE_BYTES + 1));
+            assertEquals("Error: Line too long", in.readLine());
+            assertNull(in.readLine());
+        }
+        awaitSessionCount(0);
+    }
+}
@@ -0,0 +1,61 @@
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class LadderSolverTest {
+    private LadderSolver solver;
+
+    @Before
+    public void setUp() {
+        WordIndex index = new WordIndex(Arrays.asList(
+                "cold", "cord", "card", "ward", "warm", "corm", "worm", "wild"), 4);
+        solver = new LadderSolver(index);
+    }
+
+    @Test
+    public void testShortestPath() {
+        // cold -> cord -> corm -> worm -> warm is 4 steps, as is the route via card/ward
+        List<String> path = solver.shortestPath("cold", "warm");
+        assertEquals(5, path.size());
+        assertEquals("cold", path.get(0));
+        assertEquals("warm", path.get(4));
+        assertEquals(4, solver.distance("cold", "warm"));
+        assertEquals(2, solver.distance("card", "warm"));
+    }
+
+    @Test
+    public void testUnreachableAndInvalidWords() {
+        assertTrue(solver.shortestPath("cold", "wild").isEmpty());
+        assertEquals(-1, solver.distance("cold", "wild"));
+        assertEquals(-1, solver.distance("cold", "xxxx"));
+        assertEquals(Arrays.asList("cold"), solver.shortestPath("cold", "cold"));
+        assertEquals(0, solver.distance("cold", "cold"));
+        assertNull(solver.shortestPath(-1, 0));
+        assertNull(solver.shortestPath(0, 8));
+        assertEquals(-1, solver.distance(0, 8));
+    }
+
+    // Every step of a path on the real dictionary must be a legal one-letter move
+    @Test
+    public void testPathsOnDictionaryAreLegal() {
+        WordIndex dictionary = DictionaryRegistry.get();
+        LadderSolver full = new LadderSolver(dictionary);
+        Model model = new Model(false);
+        for (int i = 0; i < 200; i++) {
+            int from = (i * 7919) % dictionary.size();
+            int to = (i * 104729 + 13) % dictionary.size();
+            int[] path = full.shortestPath(from, to);
+            if (path == null) {
+                continue;
+            }
+            assertEquals(full.distance(from, to), path.length - 1);
+            assertEquals(from, path[0]);
+            assertEquals(to, path[path.length - 1]);
+            for (int s = 1; s < path.length; s++) {
+                assertTrue(model.isOneLetterDifferent(dictionary.wordAt(path[s - 1]), dictionary.wordAt(path[s])));
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+    // Every value falls into a bucket whose upper bound is within 12.5% above it
+    @Test
+    public void testBucketPrecision() {
+        for (long value : new long[] { 0, 1, 7, 8, 15, 16, 100, 1_000, 123_456, 10_000_000_000L, Long.MAX_VALUE }) {
+            long upper = LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(value));
+            assertTrue(upper >= value);
+            assertTrue(upper - value <= value / 8);
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 100L);
+        }
+        assertEquals(1000, histogram.count());
+        assertEquals(100_000, histogram.max());
+        assertEquals(50_050, histogram.mean(), 0.001);
+        long p50 = histogram.percentile(0.50);
+        assertTrue(p50 >= 50_000 && p50 <= 50_000 * 9 / 8);
+        long p99 = histogram.percentile(0.99);
+        assertTrue(p99 >= 99_000 && p99 <= 100_000);
+        histogram.reset();
+        assertEquals(0, histogram.percentile(0.99));
+    }
+
+    // Each processWord outcome is counted by kind
+    @Test
+    public void testOutcomeCounts() {
+        GameMetrics metrics = GameMetrics.get();
+        long before = metrics.outcomeCount(GameEvent.Kind.ERROR_NOT_IN_DICTIONARY);
+        Model model = new Model(false);
+        model.processWord("zzzz");
+        assertEquals(before + 1, metrics.outcomeCount(GameEvent.Kind.ERROR_NOT_IN_DICTIONARY));
+        assertTrue(metrics.dump().contains("ERROR_NOT_IN_DICTIONARY"));
+    }
+}
@@ -1,6 +1,7 @@
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
 
 public class ModelTest {
     private Model model;
@@ -111,6 +112,78 @@ public class ModelTest {
         assertEquals(3, model.getAttempts()); // Only 3 valid attempts
     }
 
+    // Test Scenario 4: Allocation-free Hot Path
+    // This test verifies that validating moves and producing feedback does not
+    // allocate, so the hot path creates no garbage under load
+    @Test
+    public void testProcessWordDoesNotAllocate() {
+        model = new Model(false); // CLI printing allocates, so measure the quiet model
+        model.addGameObserver(observer);
+        setModelState("cold", "warm");
+        java.lang.management.ThreadMXBean threads = java.lang.management.ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+        long threadId = Thread.currentThread().getId();
+
+        playMoves(1000);
+        long before = allocation.getThreadAllocatedBytes(threadId);
+        playMoves(10000);
+        long allocated = allocation.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue("processWord allocated " + allocated + " bytes", allocated < 1024);
+        assertEquals("Feedback: XXGX", Feedback.message(Feedback.compute("cord", "warm"), 4));
+    }
+
+    // Test Scenario 5: Typed Game Events
+    // This test verifies that typed listeners receive the pre-allocated event
+    // singletons matching the string messages
+    @Test
+    public void testTypedGameEvents() {
+        setModelState("cold", "warm");
+        GameEvent[] lastEvent = new GameEvent[1];
+        int[] lastWordId = new int[1];
+        model.addGameEventListener((event, wordId, attempts) -> {
+            lastEvent[0] = event;
+            lastWordId[0] = wordId;
+        });
+
+        model.processWord("xxxx");
+        assertSame(GameEvent.ERROR_NOT_IN_DICTIONARY, lastEvent[0]);
+        assertEquals(-1, lastWordId[0]);
+
+        model.processWord("cord");
+        assertSame(GameEvent.feedback(0b0010, 4), lastEvent[0]);
+        assertEquals(observer.getLastMessage(), lastEvent[0].getMessage());
+        assertEquals(DictionaryRegistry.get().indexOf("cord"), lastWordId[0]);
+    }
+
+    // Test Scenario 6: Hints Follow the Shortest Path
+    // This test verifies that following the hints reaches the target in exactly
+    // the shortest number of moves
+    @Test
+    public void testHintsFollowShortestPath() {
+        WordIndex dictionary = DictionaryRegistry.get();
+        int par = new LadderSolver(dictionary).distance("cold", "warm");
+        model.startPuzzle(new Puzzle(dictionary.indexOf("cold"), dictionary.indexOf("warm"), par));
+
+        String hint;
+        while ((hint = model.getHint()) != null && model.getAttempts() <= par) {
+            model.processWord(hint);
+        }
+        assertTrue(model.isGameWon());
+        assertEquals(par, model.getAttempts());
+        assertNull(model.getHint());
+    }
+
+    private void playMoves(int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            model.processWord(" CORD ");
+            model.processWord("xxxx");
+            model.processWord("wa1m");
+            model.processWord("cold");
+        }
+    }
+
     // Helper method: Set model state
     private void setModelState(String startWord, String targetWord) {
         try {
@@ -0,0 +1,39 @@
+import org.junit.Test;
+import java.util.Random;
+import static org.junit.Assert.*;
+
+public class PuzzleGeneratorTest {
+
+    // Every generated puzzle must be solvable with a par inside the requested band
+    @Test
+    public void testPuzzlesStayInsideDistanceBand() {
+        WordIndex dictionary = DictionaryRegistry.get();
+        PuzzleGenerator generator = new PuzzleGenerator(dictionary, 4, 7);
+        LadderSolver solver = new LadderSolver(dictionary);
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            Puzzle puzzle = generator.next(random);
+            int distance = solver.distance(puzzle.getStartId(), puzzle.getTargetId());
+            assertEquals(distance, puzzle.getDistance());
+            assertTrue(distance >= 4 && distance <= 7);
+        }
+    }
+
+    // A band no pair can satisfy still yields a solvable puzzle instead of looping forever
+    @Test
+    public void testUnreachableBandFallsBackToSolvablePuzzle() {
+        WordIndex dictionary = DictionaryRegistry.get();
+        PuzzleGenerator generator = new PuzzleGenerator(dictionary, 500, 600);
+        Puzzle puzzle = generator.next(new Random(7));
+        LadderSolver solver = new LadderSolver(dictionary);
+        assertTrue(puzzle.getDistance() > 0);
+        assertEquals(puzzle.getDistance(), solver.distance(puzzle.getStartId(), puzzle.getTargetId()));
+    }
+
+    @Test
+    public void testModelUsesSolvablePuzzle() {
+        Model model = new Model(false);
+        LadderSolver solver = new LadderSolver(DictionaryRegistry.get());
+        assertEquals(model.getParDistance(), solver.distance(model.getStartWord(), model.getTargetWord()));
+    }
+}
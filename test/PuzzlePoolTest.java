@@ -0,0 +1,103 @@
+import org.junit.Before;
+import org.junit.Test;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.*;
+
+public class PuzzlePoolTest {
+    private WordIndex index;
+    private DistanceTable table;
+
+    @Before
+    public void setUp() {
+        index = new WordIndex(Arrays.asList(
+                "cold", "cord", "card", "ward", "warm", "corm", "worm", "wild"), 4);
+        table = DistanceTable.compute(index.graph(), ForkJoinPool.commonPool());
+    }
+
+    @Test
+    public void testDistanceTableMatchesSolver() {
+        LadderSolver solver = new LadderSolver(index);
+        for (int a = 0; a < index.size(); a++) {
+            for (int b = 0; b < index.size(); b++) {
+                assertEquals(solver.distance(a, b), table.distance(a, b));
+            }
+        }
+    }
+
+    // Pools survive a round trip through the binary file and only serve the requested difficulty
+    @Test
+    public void testPoolRoundTrip() throws Exception {
+        PuzzlePool pool = PuzzlePool.fromTable(table, 16, new Random(1));
+        File file = File.createTempFile("puzzles", ".bin");
+        file.deleteOnExit();
+        pool.write(file, index);
+        PuzzlePool loaded = PuzzlePool.read(file, index);
+
+        assertEquals(pool.maxDistance(), loaded.maxDistance());
+        Random random = new Random(3);
+        for (int i = 0; i < 50; i++) {
+            Puzzle puzzle = loaded.draw(4, random);
+            assertEquals(4, table.distance(puzzle.getStartId(), puzzle.getTargetId()));
+        }
+        assertNull(loaded.draw(loaded.maxDistance() + 1, random));
+
+        WordIndex other = new WordIndex(Arrays.asList("cold", "cord"), 4);
+        try {
+            PuzzlePool.read(file, other);
+            fail("Pool built from another dictionary must be rejected");
+        } catch (java.io.IOException expected) {
+            // expected
+        }
+    }
+
+    // Damaged bucket tables are rejected with an IOException instead of failing with an array error
+    @Test
+    public void testCorruptPoolRejected() throws Exception {
+        File file = File.createTempFile("puzzles", ".bin");
+        file.deleteOnExit();
+        PuzzlePool.fromTable(table, 16, new Random(1)).write(file, index);
+        // magic, version, dictionary size and fingerprint
+        byte[] header = Arrays.copyOf(Files.readAllBytes(file.toPath()), 20);
+
+        int[][] bodies = {
+                { Integer.MAX_VALUE },                  // bucket count larger than the dictionary
+                { 2, 0, 0, 5, 0 },                      // distance outside the bucket table
+                { 2, 0, 0, 0, 0 },                      // the same distance twice
+                { 2, 0, 0, 1, Integer.MAX_VALUE },      // puzzle count larger than the file
+                { 2, 0, 0, 1, 1, 0, index.size() },     // word id outside the dictionary
+                { 2, 0, 0, 1, 1, 0 },                   // truncated
+        };
+        for (int[] body : bodies) {
+            try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+                out.write(header);
+                for (int value : body) {
+                    out.writeInt(value);
+                }
+            }
+            try {
+                PuzzlePool.read(file, index);
+                fail("Corrupt pool must be rejected: " + Arrays.toString(body));
+            } catch (IOException expected) {
+                // expected
+            }
+        }
+    }
+
+    // A pool without puzzles in the default difficulty band has no default source instead of failing to build
+    @Test
+    public void testPoolWithoutDefaultBand() {
+        WordIndex small = new WordIndex(Arrays.asList("cold", "cord", "card"), 4);
+        PuzzlePool pool = PuzzlePool.fromTable(DistanceTable.compute(small.graph(), ForkJoinPool.commonPool()),
+                16, new Random(1));
+        assertNull(pool.defaultSource());
+        assertFalse(pool.hasPuzzles(PuzzleGenerator.DEFAULT_MIN_DISTANCE, PuzzleGenerator.DEFAULT_MAX_DISTANCE));
+        assertNotNull(pool.source(1, 2).next(new Random(2)));
+    }
+}
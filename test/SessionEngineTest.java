@@ -0,0 +1,58 @@
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+
+public class SessionEngineTest {
+
+    private static SessionEngine fixedEngine() {
+        WordIndex dictionary = DictionaryRegistry.get();
+        Puzzle puzzle = new Puzzle(dictionary.indexOf("cold"), dictionary.indexOf("warm"), 4);
+        return new SessionEngine(random -> puzzle);
+    }
+
+    @Test
+    public void testSessionsAreIndependent() {
+        SessionEngine engine = fixedEngine();
+        long first = engine.createSession();
+        long second = engine.createSession();
+
+        assertEquals("Feedback: XXGX", engine.submit(first, "cord"));
+        assertEquals("Error: Word not in dictionary", engine.submit(second, "xxxx"));
+        assertEquals(1, engine.getSession(first).getAttempts());
+        assertEquals(0, engine.getSession(second).getAttempts());
+
+        assertTrue(engine.restart(first));
+        assertEquals(0, engine.getSession(first).getAttempts());
+        assertTrue(engine.closeSession(second));
+        assertNull(engine.submit(second, "cord"));
+        assertEquals(1, engine.size());
+    }
+
+    // Concurrent players on many sessions must each see exactly their own moves
+    @Test
+    public void testConcurrentPlayers() throws Exception {
+        SessionEngine engine = fixedEngine();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Long>> sessions = new ArrayList<>();
+        for (int p = 0; p < 64; p++) {
+            sessions.add(executor.submit(() -> {
+                long id = engine.createSession();
+                for (int i = 0; i < 500; i++) {
+                    engine.submit(id, (i & 1) == 0 ? "cord" : "cold");
+                }
+                return id;
+            }));
+        }
+        for (Future<Long> session : sessions) {
+            assertEquals(500, engine.getSession(session.get()).getAttempts());
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(64, engine.size());
+    }
+}
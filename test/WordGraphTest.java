@@ -0,0 +1,44 @@
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Arrays;
+import static org.junit.Assert.*;
+
+public class WordGraphTest {
+    private WordIndex index;
+    private WordGraph graph;
+
+    @Before
+    public void setUp() {
+        index = new WordIndex(Arrays.asList("cold", "cord", "card", "ward", "warm", "word", "wild"), 4);
+        graph = index.graph();
+    }
+
+    @Test
+    public void testEdgesConnectOneLetterNeighbours() {
+        assertTrue(graph.isAdjacent(index.indexOf("cold"), index.indexOf("cord")));
+        assertTrue(graph.isAdjacent(index.indexOf("cord"), index.indexOf("cold")));
+        assertTrue(graph.isAdjacent(index.indexOf("ward"), index.indexOf("word")));
+        assertFalse(graph.isAdjacent(index.indexOf("cold"), index.indexOf("warm")));
+        assertFalse(graph.isAdjacent(index.indexOf("cold"), index.indexOf("cold")));
+        assertEquals(0, graph.degree(index.indexOf("wild")));
+    }
+
+    // The bucketed graph must match a brute-force pairwise comparison on the real dictionary
+    @Test
+    public void testMatchesPairwiseComparison() {
+        WordIndex dictionary = DictionaryRegistry.get();
+        WordGraph full = dictionary.graph();
+        Model model = new Model(false);
+        int edges = 0;
+        for (int a = 0; a < dictionary.size(); a++) {
+            for (int b = 0; b < dictionary.size(); b++) {
+                boolean expected = model.isOneLetterDifferent(dictionary.wordAt(a), dictionary.wordAt(b));
+                assertEquals(expected, full.isAdjacent(a, b));
+                if (expected) {
+                    edges++;
+                }
+            }
+        }
+        assertEquals(edges / 2, full.edgeCount());
+    }
+}
@@ -0,0 +1,86 @@
+import org.junit.Before;
+import org.junit.Test;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import static org.junit.Assert.*;
+
+public class WordIndexTest {
+    private WordIndex index;
+
+    @Before
+    public void setUp() {
+        index = new WordIndex(Arrays.asList("warm", "cold", "cord", "card", "cold", "toolong", "ab1c"), 4);
+    }
+
+    // Ids follow alphabetical order and duplicates/invalid words are dropped
+    @Test
+    public void testIdsAreAlphabetical() {
+        assertEquals(4, index.size());
+        assertEquals("card", index.wordAt(0));
+        assertEquals("cold", index.wordAt(1));
+        assertEquals("cord", index.wordAt(2));
+        assertEquals("warm", index.wordAt(3));
+        assertEquals(2, index.indexOf("cord"));
+    }
+
+    @Test
+    public void testContains() {
+        assertTrue(index.contains("cold"));
+        assertTrue(index.contains(new StringBuilder("warm")));
+        assertFalse(index.contains("worm"));
+        assertFalse(index.contains("COLD"));
+        assertFalse(index.contains("col"));
+        assertFalse(index.contains(null));
+    }
+
+    @Test
+    public void testPackRoundTrip() {
+        long key = WordIndex.pack("zany", 4);
+        assertEquals("zany", WordIndex.unpack(key, 4));
+        assertEquals(-1, WordIndex.pack("za-y", 4));
+    }
+
+    // Eight letters need 40 bits, so keys are longs and the graph works for long words too
+    @Test
+    public void testLongWords() {
+        WordIndex eight = new WordIndex(Arrays.asList("zigzaggy", "zigzaggo", "absolute", "zigzag"), 8);
+        assertEquals(3, eight.size());
+        assertEquals("zigzaggy", WordIndex.unpack(WordIndex.pack("zigzaggy", 8), 8));
+        assertEquals("absolute", eight.wordAt(0));
+        assertTrue(eight.graph().isAdjacent(eight.indexOf("zigzaggo"), eight.indexOf("zigzaggy")));
+        assertFalse(eight.graph().isAdjacent(eight.indexOf("absolute"), eight.indexOf("zigzaggy")));
+    }
+
+    // Shards are per length; unsupported lengths are rejected
+    @Test
+    public void testShardsByLength() {
+        assertEquals(4, DictionaryRegistry.get().getWordLength());
+        assertSame(DictionaryRegistry.get(), DictionaryRegistry.get(4));
+        assertEquals(3, DictionaryRegistry.get(3).getWordLength());
+        // the shipped word list only has 4-letter words; empty shards are cached instead of re-parsed
+        assertSame(DictionaryRegistry.get(3), DictionaryRegistry.get(3));
+        assertEquals(Arrays.asList(4), DictionaryRegistry.availableLengths());
+        try {
+            DictionaryRegistry.get(9);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    // Available lengths come from one pass over the word list, skipping words no shard would keep
+    @Test
+    public void testLengthsInWordList() throws Exception {
+        File file = Files.createTempFile("words", ".txt").toFile();
+        try {
+            Files.write(file.toPath(), Arrays.asList("cold", " WARM ", "ab", "it's", "abc1", "planet", "toolongword"));
+            boolean[] present = DictionaryRegistry.lengthsInWordList(file.getPath());
+            assertFalse(present[3]);
+            assertTrue(present[4]);
+            assertFalse(present[5]);
+            assertTrue(present[6]);
+        } finally {
+            file.delete();
+        }
+    }
+}